@@ -0,0 +1,70 @@
+package com.agadev;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// 추출 fetch size 비교: 네트워크 왕복이 생기도록 H2 TCP 서버를 거쳐 조회, 실제 추출 경로(json 기록)와 같게 측정
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FetchSizeBenchmark {
+
+    private static final String TABLE_NAME = "FETCH";
+
+    @Param({ "10", "100", "1000", "5000" })
+    public int fetchSize;
+
+    @Param({ "8" })
+    public int width;
+
+    @Param({ "50000" })
+    public int rows;
+
+    private Server server;
+    private Connection conn;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        conn = DriverManager.getConnection("jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:fetch;MODE=Oracle;DB_CLOSE_DELAY=-1");
+        SyntheticTable.create(conn, TABLE_NAME, width, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public long export() throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet data = stmt.executeQuery("SELECT * FROM " + TABLE_NAME)) {
+                return OraBack_json.backupTable(OraRows.of(data, OraMetrics.Progress.none()), new RowSerializationBenchmark.NullOutputStream());
+            }
+        }
+    }
+}
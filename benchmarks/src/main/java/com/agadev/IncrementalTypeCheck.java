@@ -0,0 +1,96 @@
+package com.agadev;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+// 빈 테이블에서 시작한 증분 백업 확인 (H2 메모리 DB, Oracle 모드)
+// 기본 백업(빈 테이블) -> delta -> delta 순서로 OraIncremental 상태를 만들고
+// 매번 변경분 조건이 만들어지는지, 조건에 걸리는 행 수가 맞는지 비교
+//
+//   java -cp benchmarks.jar com.agadev.IncrementalTypeCheck     (다르면 종료 코드 1)
+public class IncrementalTypeCheck {
+
+    private static final String EXTENSION = "txt";
+
+    public static void main(String[] args) throws Exception {
+        File dir = Files.createTempDirectory("oraback-incremental").toFile();
+        boolean ok = true;
+        try (Connection conn = SyntheticTable.open("incremental")) {
+            ok &= check(conn, dir, "INC_NUMBER", "NUMBER(10)", "?");
+            ok &= check(conn, dir, "INC_DATE", "DATE", "DATE '2020-01-01' + ?");
+        } finally {
+            SyntheticTable.deleteDirectory(dir);
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // valueExpr: 행 번호(?)로 기준 컬럼 값을 만드는 식
+    private static boolean check(Connection conn, File dir, String tableName, String type, String valueExpr) throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS " + tableName);
+            stmt.execute("CREATE TABLE " + tableName + " (ID NUMBER(10) PRIMARY KEY, CHANGED " + type + ")");
+        }
+        Properties config = new Properties();
+        config.setProperty("backup.mode", "incremental");
+        config.setProperty("incremental.column", "CHANGED");
+        OraIncremental incremental = OraIncremental.fromConfig(config);
+        OraSnapshot snapshot = new OraSnapshot(false, 0, false, null);
+        String log = "incremental-check.log";
+
+        // 1) 빈 테이블의 기본 백업 (MAX 가 NULL)
+        OraIncremental.TablePlan plan = incremental.plan(conn, dir, tableName, EXTENSION, snapshot, log);
+        String baseFileName = tableName + "." + EXTENSION;
+        new File(dir, baseFileName).createNewFile();
+        OraIncremental.recordBase(dir, tableName, EXTENSION, plan, baseFileName);
+
+        // 2) 첫 delta: 이전 high-water mark 가 없으므로 전체
+        insert(conn, tableName, valueExpr, 1, 100);
+        boolean ok = delta(conn, dir, incremental, snapshot, tableName, 100, log);
+        // 3) 두 번째 delta: 경계(100) 포함 이후 행
+        insert(conn, tableName, valueExpr, 101, 150);
+        ok &= delta(conn, dir, incremental, snapshot, tableName, 51, log);
+        return ok;
+    }
+
+    private static boolean delta(Connection conn, File dir, OraIncremental incremental, OraSnapshot snapshot, String tableName,
+                                 long expectedRows, String log) throws Exception {
+        OraIncremental.TablePlan plan;
+        try {
+            plan = incremental.plan(conn, dir, tableName, EXTENSION, snapshot, log);
+        } catch (RuntimeException e) {
+            System.out.println("FAIL " + tableName + ": " + e);
+            return false;
+        }
+        long rows = count(conn, tableName, plan.filter);
+        int index = plan.deltaIndex();
+        OraIncremental.recordDelta(dir, tableName, EXTENSION, plan, OraIncremental.deltaFileName(tableName, EXTENSION, index), rows);
+        boolean ok = plan.isDelta() && rows == expectedRows;
+        System.out.println((ok ? "OK   " : "FAIL ") + tableName + " delta " + index + " (" + plan.type + ", "
+                + (plan.filter == null ? "all rows" : plan.filter) + "): " + rows + " rows, expected " + expectedRows);
+        return ok;
+    }
+
+    private static void insert(Connection conn, String tableName, String valueExpr, int from, int to) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (int row = from; row <= to; row++) {
+                stmt.addBatch("INSERT INTO " + tableName + " VALUES (" + row + ", " + valueExpr.replace("?", String.valueOf(row)) + ")");
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static long count(Connection conn, String tableName, String filter) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + tableName + (filter == null ? "" : " WHERE " + filter))) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
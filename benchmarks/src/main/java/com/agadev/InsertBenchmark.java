@@ -0,0 +1,114 @@
+package com.agadev;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// 복원 INSERT 방식 비교 (H2 Oracle 모드, 매 실행 전 TRUNCATE)
+//   literal  : 행마다 값 치환 SQL (이전 복원 방식)
+//   batch    : 파라미터 INSERT + JDBC 배치 (메모리의 행)
+//   streamed : txt 백업 파일 -> OraRowStream -> 배치 INSERT (복원 작업 경로)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBenchmark {
+
+    private static final String TABLE_NAME = "RESTORE_TARGET";
+    private static final String LOG_FILE_NAME = "insert_benchmark.log";
+
+    @Param({ "literal", "batch", "streamed" })
+    public String strategy;
+
+    @Param({ "1000" })
+    public int batchSize;
+
+    @Param({ "8" })
+    public int width;
+
+    @Param({ "10000" })
+    public int rows;
+
+    private Connection conn;
+    private List<Map<String, Object>> dataList;
+    private File dir;
+    private File textFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        conn = SyntheticTable.open("insert");
+        dataList = SyntheticTable.rows(width, rows);
+        dir = Files.createTempDirectory("oraback-insert").toFile();
+        SyntheticTable.create(conn, TABLE_NAME, width, rows);
+        textFile = SyntheticTable.export(conn, TABLE_NAME, OraBack::backupTable, dir, "txt", "none");
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        SyntheticTable.truncate(conn, TABLE_NAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+        SyntheticTable.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public long insert() throws Exception {
+        switch (strategy) {
+            case "literal":
+                return insertLiteral();
+            case "batch":
+                return insertBatch(dataList.iterator());
+            default:
+                try (OraRowStream stream = new OraRowStream(Collections.singletonList(textFile), OraRestore::openTextFile,
+                        batchSize, 4, TABLE_NAME)) {
+                    return insertBatch(stream);
+                }
+        }
+    }
+
+    private long insertLiteral() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (Map<String, Object> row : dataList) {
+                stmt.executeUpdate(OraRestore.buildInsertQueryWithValues(TABLE_NAME, row));
+            }
+        }
+        return dataList.size();
+    }
+
+    private long insertBatch(Iterator<Map<String, Object>> rowIterator) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            long inserted = OraBatchInsert.insertRows(conn, TABLE_NAME, rowIterator, batchSize, 0, null, null, null, LOG_FILE_NAME);
+            conn.commit();
+            return inserted;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+}
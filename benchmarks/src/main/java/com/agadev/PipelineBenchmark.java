@@ -0,0 +1,109 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// 추출 파이프라인 비교: 테이블 하나를 파일로 백업 (H2 TCP 서버를 거쳐 fetch 왕복이 생기게 함)
+//   sequential : 한 스레드에서 fetch + 인코딩 (압축/기록은 compression.async 스레드) - 기존 경로
+//   pipelined  : fetch 스레드 -> 인코딩 + 압축 (호출 스레드) -> 기록 스레드 (pipeline.enabled=true)
+// 처리량은 rows / 평균 시간
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    private static final String TABLE_NAME = "PIPELINE";
+
+    @Param({ "sequential", "pipelined" })
+    public String mode;
+
+    @Param({ "txt", "orb" })
+    public String format;
+
+    @Param({ "none", "gzip" })
+    public String codec;
+
+    @Param({ "16" })
+    public int width;
+
+    @Param({ "50000" })
+    public int rows;
+
+    @Param({ "1000" })
+    public int fetchSize;
+
+    private Server server;
+    private Connection conn;
+    private File dir;
+    private OraBackupJob.TableBackup backup;
+    private OraBackupJob.Compression compression;
+    private OraPipeline pipeline;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        conn = DriverManager.getConnection("jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:pipeline;MODE=Oracle;DB_CLOSE_DELAY=-1");
+        SyntheticTable.create(conn, TABLE_NAME, width, rows);
+        dir = Files.createTempDirectory("oraback-pipeline").toFile();
+        backup = "orb".equals(format) ? OraBack_bin::backupTable : OraBack::backupTable;
+        compression = new OraBackupJob.Compression(codec, -1, true);
+
+        Properties config = new Properties();
+        config.setProperty("pipeline.enabled", "true");
+        pipeline = OraPipeline.fromConfig(config);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+        server.stop();
+        SyntheticTable.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public long export() throws Exception {
+        File file = new File(dir, TABLE_NAME + "." + format + compression.suffix);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet data = stmt.executeQuery("SELECT * FROM " + TABLE_NAME)) {
+                OraRowCodec rowCodec = OraRowCodec.of(data.getMetaData());
+                OraMetrics.Progress progress = OraMetrics.Progress.none();
+                if ("pipelined".equals(mode)) {
+                    try (OraPipeline.Fetcher fetched = pipeline.fetch(data, rowCodec, fetchSize, progress);
+                         OutputStream output = pipeline.open(file, compression.codec, compression.level)) {
+                        return backup.backup(fetched, output);
+                    }
+                }
+                try (OutputStream output = compression.open(file)) {
+                    return backup.backup(OraRows.of(data, rowCodec, progress), output);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.agadev;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// RAW / LONG RAW / BLOB 컬럼 왕복 확인 (H2 메모리 DB, Oracle 모드)
+// 포맷별로 백업한 뒤 같은 모양의 빈 테이블에 복원 경로(OraTypeCodec.decoding + OraBatchInsert)로 적재하고 원본과 바이트 비교
+//
+//   java -cp benchmarks.jar com.agadev.RawRoundTripCheck     (다르면 종료 코드 1)
+public class RawRoundTripCheck {
+
+    private static final String SOURCE = "RAW_SOURCE";
+    private static final String TARGET = "RAW_TARGET";
+    private static final int ROWS = 500;
+
+    public static void main(String[] args) throws Exception {
+        File dir = Files.createTempDirectory("oraback-raw").toFile();
+        boolean ok = true;
+        try (Connection conn = SyntheticTable.open("raw")) {
+            create(conn);
+            ok &= check(conn, SyntheticTable.export(conn, SOURCE, OraBack::backupTable, dir, "txt", "none"),
+                    OraRestore::openTextFile);
+            ok &= check(conn, SyntheticTable.export(conn, SOURCE, OraBack_json::backupTable, dir, "json", "none"),
+                    OraRestore_json::openJsonFile);
+            ok &= check(conn, SyntheticTable.export(conn, SOURCE, (data, output) -> OraBack_csv.backupTable(data, output, ','), dir, "csv", "none"),
+                    file -> OraRestore_csv.openCsvFile(file, ','));
+            ok &= check(conn, SyntheticTable.export(conn, SOURCE, OraBack_bin::backupTable, dir, "orb", "none"),
+                    OraRestore_bin::openBinFile);
+        } finally {
+            SyntheticTable.deleteDirectory(dir);
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // 길이 0~32 의 RAW (NULL 포함), 모든 바이트 값이 나오는 LONG RAW 와 BLOB
+    private static void create(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String table : new String[] { SOURCE, TARGET }) {
+                stmt.execute("DROP TABLE IF EXISTS " + table);
+                stmt.execute("CREATE TABLE " + table + " (ID NUMBER(10) PRIMARY KEY, R RAW(32), L LONG RAW, B BLOB)");
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO " + SOURCE + " VALUES (?, ?, ?, ?)")) {
+            for (int row = 0; row < ROWS; row++) {
+                stmt.setInt(1, row);
+                stmt.setBytes(2, row % 11 == 0 ? null : bytes(row, row % 33));
+                stmt.setBytes(3, bytes(row, 256));
+                stmt.setBytes(4, row % 7 == 0 ? null : bytes(row * 3, 1000));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static byte[] bytes(int seed, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (seed + i);
+        }
+        return bytes;
+    }
+
+    private static boolean check(Connection conn, File file, OraRowSource.Opener opener) throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("TRUNCATE TABLE " + TARGET);
+        }
+        OraBatchInsert.TableColumns columns = OraBatchInsert.describe(conn, TARGET);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (OraRowSource source = OraTypeCodec.decoding(opener, columns).open(file)) {
+            Map<String, Object> row;
+            while ((row = source.next()) != null) {
+                rows.add(row);
+            }
+        }
+        OraBatchInsert.insertRows(conn, TARGET, columns, rows.iterator(), 100, 0, null, null, null, "rawcheck.log");
+
+        String compare = "SELECT COUNT(*) FROM " + SOURCE + " s JOIN " + TARGET + " t ON t.ID = s.ID"
+                + " WHERE (s.R = t.R OR s.R IS NULL AND t.R IS NULL) AND s.L = t.L AND (s.B = t.B OR s.B IS NULL AND t.B IS NULL)";
+        int matched;
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(compare)) {
+            rs.next();
+            matched = rs.getInt(1);
+        }
+        boolean ok = matched == ROWS;
+        System.out.println((ok ? "OK   " : "FAIL ") + file.getName() + ": " + matched + " of " + ROWS + " rows match");
+        return ok;
+    }
+}
@@ -0,0 +1,131 @@
+package com.agadev;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// 복원 파일 읽기 비교: 합성 테이블을 .txt / .json / .orb / .csv 로 백업해 두고 행 소스로 끝까지 읽음
+//   parseTextLines : 메모리에 올린 txt 줄을 parseTextLineToMap 으로만 변환 (파일 I/O 제외)
+//   readTextMapped : txt 를 메모리 매핑해 읽음 (OraMappedText, 압축 파일은 스트림으로 읽으므로 readText 와 같음)
+//   readCsv        : csv 를 바이트 단위 한 번 훑기로 파싱 (OraCsvReader)
+//   codec          : 백업 파일 압축 (none, gzip, lz4, zstd)
+// 행마다 INSERT 바인딩처럼 모든 값을 꺼냄 (매핑 행은 이때 값을 디코딩)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestoreParseBenchmark {
+
+    private static final String TABLE_NAME = "PARSE";
+
+    @Param({ "8", "32" })
+    public int width;
+
+    @Param({ "10000" })
+    public int rows;
+
+    @Param({ "none" })
+    public String codec;
+
+    private File dir;
+    private File textFile;
+    private File jsonFile;
+    private File binFile;
+    private File csvFile;
+    private List<String> textLines;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("oraback-parse").toFile();
+        try (Connection conn = SyntheticTable.open("parse")) {
+            SyntheticTable.create(conn, TABLE_NAME, width, rows);
+            textFile = SyntheticTable.export(conn, TABLE_NAME, OraBack::backupTable, dir, "txt", codec);
+            jsonFile = SyntheticTable.export(conn, TABLE_NAME, OraBack_json::backupTable, dir, "json", codec);
+            binFile = SyntheticTable.export(conn, TABLE_NAME, OraBack_bin::backupTable, dir, "orb", codec);
+            csvFile = SyntheticTable.export(conn, TABLE_NAME, (data, output) -> OraBack_csv.backupTable(data, output, ','), dir, "csv", codec);
+        }
+
+        textLines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(OraCompression.openInput(textFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                textLines.add(line);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SyntheticTable.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public void parseTextLines(Blackhole blackhole) {
+        for (String line : textLines) {
+            blackhole.consume(OraRestore.parseTextLineToMap(line));
+        }
+    }
+
+    @Benchmark
+    public long readText(Blackhole blackhole) throws Exception {
+        return read(OraRestore::openTextFile, textFile, blackhole);
+    }
+
+    @Benchmark
+    public long readTextMapped(Blackhole blackhole) throws Exception {
+        return read(file -> OraRestore.openTextFile(file, 64 << 20), textFile, blackhole);
+    }
+
+    @Benchmark
+    public long readJson(Blackhole blackhole) throws Exception {
+        return read(OraRestore_json::openJsonFile, jsonFile, blackhole);
+    }
+
+    @Benchmark
+    public long readOrb(Blackhole blackhole) throws Exception {
+        return read(OraRestore_bin::openBinFile, binFile, blackhole);
+    }
+
+    @Benchmark
+    public long readCsv(Blackhole blackhole) throws Exception {
+        return read(file -> OraRestore_csv.openCsvFile(file, ','), csvFile, blackhole);
+    }
+
+    private static long read(OraRowSource.Opener opener, File file, Blackhole blackhole) throws Exception {
+        long rowCount = 0;
+        try (OraRowSource source = opener.open(file)) {
+            Map<String, Object> row;
+            while ((row = source.next()) != null) {
+                for (Object value : row.values()) {
+                    blackhole.consume(value);
+                }
+                rowCount++;
+            }
+        }
+        return rowCount;
+    }
+}
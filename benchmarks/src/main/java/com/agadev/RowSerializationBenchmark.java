@@ -0,0 +1,154 @@
+package com.agadev;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// 백업 행 직렬화 비교: 조회 결과 전체를 포맷별 writer 로 기록 (출력은 버림)
+//   driverOnly  : 값을 읽기만 함 (JDBC 드라이버 몫)
+//   mapToString : 이전 txt 경로 (행마다 HashMap, Map.toString())
+//   txt / json / metrics(txt + 계측) / orb / csv : 현재 경로
+// 할당량은 -prof gc (gc.alloc.rate.norm 을 rows 로 나누면 행당 바이트)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowSerializationBenchmark {
+
+    private static final String TABLE_NAME = "SERIALIZE";
+
+    @Param({ "8", "32" })
+    public int width;
+
+    @Param({ "10000" })
+    public int rows;
+
+    private Connection conn;
+    private OraMetrics.Table metrics;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conn = SyntheticTable.open("serialize");
+        SyntheticTable.create(conn, TABLE_NAME, width, rows);
+        metrics = new OraMetrics.Table(TABLE_NAME, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    public long driverOnly(Blackhole blackhole) throws Exception {
+        try (Statement stmt = conn.createStatement();
+             ResultSet data = stmt.executeQuery("SELECT * FROM " + TABLE_NAME)) {
+            int columnCount = data.getMetaData().getColumnCount();
+            long rowCount = 0;
+            while (data.next()) {
+                for (int i = 1; i <= columnCount; i++) {
+                    blackhole.consume(data.getObject(i));
+                }
+                rowCount++;
+            }
+            return rowCount;
+        }
+    }
+
+    @Benchmark
+    public long mapToString() throws Exception {
+        try (Statement stmt = conn.createStatement();
+             ResultSet data = stmt.executeQuery("SELECT * FROM " + TABLE_NAME);
+             OutputStream output = new NullOutputStream()) {
+            ResultSetMetaData metaData = data.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            List<Map<String, Object>> tableData = new ArrayList<>();
+            while (data.next()) {
+                Map<String, Object> row = new HashMap<>();
+                for (int i = 1; i <= columnCount; i++) {
+                    row.put(metaData.getColumnName(i), data.getObject(i));
+                }
+                tableData.add(row);
+            }
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (Map<String, Object> row : tableData) {
+                    writer.write(row.toString());
+                    writer.newLine();
+                }
+            }
+            return tableData.size();
+        }
+    }
+
+    @Benchmark
+    public long txt() throws Exception {
+        return scan(OraBack::backupTable, OraMetrics.Progress.none());
+    }
+
+    @Benchmark
+    public long txtWithMetrics() throws Exception {
+        return scan(OraBack::backupTable, new OraMetrics.Progress(metrics, 0));
+    }
+
+    @Benchmark
+    public long json() throws Exception {
+        return scan(OraBack_json::backupTable, OraMetrics.Progress.none());
+    }
+
+    @Benchmark
+    public long orb() throws Exception {
+        return scan(OraBack_bin::backupTable, OraMetrics.Progress.none());
+    }
+
+    @Benchmark
+    public long csv() throws Exception {
+        return scan((data, output) -> OraBack_csv.backupTable(data, output, ','), OraMetrics.Progress.none());
+    }
+
+    private long scan(OraBackupJob.TableBackup backup, OraMetrics.Progress progress) throws Exception {
+        try (Statement stmt = conn.createStatement();
+             ResultSet data = stmt.executeQuery("SELECT * FROM " + TABLE_NAME);
+             OutputStream output = new NullOutputStream()) {
+            long rowCount = backup.backup(OraRows.of(data, progress), output);
+            progress.finish();
+            return rowCount;
+        }
+    }
+
+    static class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 벤치마크용 합성 테이블 (H2 메모리 DB, Oracle 모드)
+// 폭(컬럼 수)과 행 수만으로 정해지고 값은 행/컬럼 번호로 만들므로 매번 같은 데이터
+//
+// 첫 컬럼은 ID NUMBER(10) 기본키, 나머지는 COLUMN_TYPES 를 차례로 반복 (C1, C2, ...)
+// 기본키가 아닌 값은 7개 중 하나꼴로 NULL
+public class SyntheticTable {
+
+    static final String[] COLUMN_TYPES = {
+            "VARCHAR2(40)", "NUMBER(12,2)", "DATE", "INTEGER", "VARCHAR2(100)", "NUMBER(18)", "FLOAT", "TIMESTAMP" };
+
+    private static final long BASE_MILLIS = 1_000_000_000_000L;
+
+    // 같은 이름이면 같은 JVM 안에서 같은 DB
+    static Connection open(String database) throws SQLException {
+        return DriverManager.getConnection(url(database));
+    }
+
+    static String url(String database) {
+        return "jdbc:h2:mem:" + database + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+    }
+
+    static String columnName(int column) {
+        return column == 0 ? "ID" : "C" + column;
+    }
+
+    // 테이블을 새로 만들고 rows 행 적재
+    static void create(Connection conn, String tableName, int width, int rows) throws SQLException {
+        StringBuilder ddl = new StringBuilder("CREATE TABLE ").append(tableName).append(" (ID NUMBER(10) PRIMARY KEY");
+        StringBuilder insert = new StringBuilder("INSERT INTO ").append(tableName).append(" VALUES (?");
+        for (int column = 1; column < width; column++) {
+            ddl.append(", ").append(columnName(column)).append(' ').append(COLUMN_TYPES[(column - 1) % COLUMN_TYPES.length]);
+            insert.append(", ?");
+        }
+        ddl.append(')');
+        insert.append(')');
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS " + tableName);
+            stmt.execute(ddl.toString());
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(insert.toString())) {
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < width; column++) {
+                    stmt.setObject(column + 1, value(row, column));
+                }
+                stmt.addBatch();
+                if (row % 1000 == 999) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    static void truncate(Connection conn, String tableName) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("TRUNCATE TABLE " + tableName);
+        }
+    }
+
+    // 행/컬럼 번호로 정해지는 값
+    static Object value(int row, int column) {
+        if (column == 0) {
+            return row;
+        }
+        if ((row + column) % 7 == 0) {
+            return null;
+        }
+        switch ((column - 1) % COLUMN_TYPES.length) {
+            case 0:
+                return "name-" + row + "-" + column;
+            case 1:
+                return BigDecimal.valueOf(row * 31L + column, 2);
+            case 2:
+                return new Timestamp(BASE_MILLIS + row * 86_400_000L);
+            case 3:
+                return row % 1000 + column;
+            case 4:
+                return "O'Neil " + row + " - the quick brown fox jumps over the lazy dog, column " + column;
+            case 5:
+                return row * 1_000_003L + column;
+            case 6:
+                return row / 3.0 + column;
+            default:
+                return new Timestamp(BASE_MILLIS + row * 1_000L + column);
+        }
+    }
+
+    // 백업 파일을 읽은 결과와 같은 모양의 행 (값은 문자열, NULL 은 null)
+    static List<Map<String, Object>> rows(int width, int rows) {
+        List<Map<String, Object>> result = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            Map<String, Object> map = new HashMap<>();
+            for (int column = 0; column < width; column++) {
+                Object value = value(row, column);
+                map.put(columnName(column), value == null ? null : value.toString());
+            }
+            result.add(map);
+        }
+        return result;
+    }
+
+    // 실제 백업 경로로 테이블 전체를 파일 하나에 기록 (codec: none, gzip, lz4, zstd)
+    static File export(Connection conn, String tableName, OraBackupJob.TableBackup backup, File dir, String extension,
+                       String codec) throws Exception {
+        File file = new File(dir, tableName + "." + extension + OraCompression.suffixOf(codec));
+        try (Statement stmt = conn.createStatement();
+             ResultSet data = stmt.executeQuery("SELECT * FROM " + tableName);
+             OutputStream output = OraCompression.openOutput(file, codec, -1, false)) {
+            backup.backup(OraRows.of(data, OraMetrics.Progress.none()), output);
+        }
+        return file;
+    }
+
+    static void deleteDirectory(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+}
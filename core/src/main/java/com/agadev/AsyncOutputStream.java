@@ -0,0 +1,130 @@
+package com.agadev;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 채운 버퍼를 큐로 넘기고, 전용 스레드가 대상 스트림(압축 등)에 기록
+// 호출 스레드(JDBC fetch 루프)는 압축 CPU 시간 동안 막히지 않음
+public class AsyncOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 1 << 18;
+    private static final int QUEUE_DEPTH = 4;
+    private static final byte[] END = new byte[0];
+
+    private final OutputStream target;
+    private final BlockingQueue<byte[]> queue;
+    private final Thread writerThread;
+    private volatile Throwable failure;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private boolean closed;
+
+    public AsyncOutputStream(OutputStream target, String name) {
+        this(target, "oraback-compress-" + name, QUEUE_DEPTH);
+    }
+
+    // queueDepth 개 버퍼(버퍼당 256KB)까지 기록을 기다림
+    public AsyncOutputStream(OutputStream target, String threadName, int queueDepth) {
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueDepth));
+        this.writerThread = new Thread(this::drain, threadName);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            handOff();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                handOff();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    // 찬 버퍼를 기록 스레드에 넘김 (큐가 차 있으면 대기 = 배압)
+    private void handOff() throws IOException {
+        checkFailure();
+        if (count == 0) {
+            return;
+        }
+        put(count == buffer.length ? buffer : Arrays.copyOf(buffer, count));
+        buffer = new byte[BUFFER_SIZE];
+        count = 0;
+    }
+
+    private void put(byte[] chunk) throws IOException {
+        try {
+            while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing", e);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                byte[] chunk = queue.take();
+                if (chunk == END) {
+                    break;
+                }
+                target.write(chunk);
+            }
+            target.close();
+        } catch (Throwable e) {
+            failure = e;
+            // 호출 스레드가 put 에서 막히지 않도록 큐 비우기
+            queue.clear();
+            try {
+                target.close();
+            } catch (IOException closeError) {
+                // 원래 오류를 우선 보고
+            }
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable e = failure;
+        if (e != null) {
+            throw e instanceof IOException ? (IOException) e : new IOException("Background writer failed", e);
+        }
+    }
+
+    // 남은 데이터를 넘기고 기록 스레드가 끝날 때까지 대기
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            handOff();
+            put(END);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing", e);
+        }
+        checkFailure();
+    }
+}
@@ -0,0 +1,177 @@
+package com.agadev;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// 로그는 큐에 넣기만 하고, 백그라운드 스레드 하나가 파일별로 열어 둔 Writer 로 기록
+public class LogUtil {
+
+    public enum Level { DEBUG, INFO }
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final ConcurrentLinkedQueue<String[]> QUEUE = new ConcurrentLinkedQueue<>();
+    private static final Thread WRITER = new Thread(LogUtil::drainLoop, "oraback-log-writer");
+
+    private static volatile Level level = parseLevel(System.getProperty("log.level"));
+    private static volatile boolean running = true;
+    private static volatile boolean writerParked;
+
+    // 같은 초 안에서는 포맷된 시각 재사용
+    private static volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(-1, null);
+
+    private static class CachedTimestamp {
+        final long second;
+        final String text;
+
+        CachedTimestamp(long second, String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
+
+    static {
+        WRITER.setDaemon(true);
+        WRITER.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(LogUtil::shutdown, "oraback-log-shutdown"));
+    }
+
+    // 로그 작성 메서드
+    static void log(String logFileName, String message) {
+        enqueue(logFileName, message);
+    }
+
+    // 행 단위 SQL 등 상세 로그 (기본값 INFO 에서는 버림)
+    static void debug(String logFileName, String message) {
+        if (level == Level.DEBUG) {
+            enqueue(logFileName, message);
+        }
+    }
+
+    static boolean isDebugEnabled() {
+        return level == Level.DEBUG;
+    }
+
+    // 설정 파일의 log.level 적용 (DEBUG, INFO)
+    static void setLevel(String levelName) {
+        level = parseLevel(levelName);
+    }
+
+    private static Level parseLevel(String levelName) {
+        if (levelName != null && "DEBUG".equalsIgnoreCase(levelName.trim())) {
+            return Level.DEBUG;
+        }
+        return Level.INFO;
+    }
+
+    // 큐가 비고 파일에 기록될 때까지 대기
+    static void flush() {
+        while ((!QUEUE.isEmpty() || !writerParked) && WRITER.isAlive()) {
+            LockSupport.unpark(WRITER);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    // 남은 로그를 모두 기록하고 파일 닫기 (JVM 종료 시 자동 호출)
+    static void shutdown() {
+        running = false;
+        LockSupport.unpark(WRITER);
+        try {
+            WRITER.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void enqueue(String logFileName, String message) {
+        QUEUE.offer(new String[] { logFileName, timestamp() + " - " + message });
+        if (writerParked) {
+            LockSupport.unpark(WRITER);
+        }
+    }
+
+    private static String timestamp() {
+        long now = System.currentTimeMillis();
+        long second = now / 1000;
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.second != second) {
+            String text = TIMESTAMP_FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()));
+            cached = new CachedTimestamp(second, text);
+            cachedTimestamp = cached;
+        }
+        return cached.text;
+    }
+
+    // 백그라운드 기록 스레드
+    private static void drainLoop() {
+        Map<String, BufferedWriter> writers = new HashMap<>();
+        while (true) {
+            String[] entry = QUEUE.poll();
+            if (entry != null) {
+                write(writers, entry[0], entry[1]);
+                continue;
+            }
+
+            // 큐가 비면 버퍼를 비우고 대기
+            flushAll(writers);
+            if (!running) {
+                break;
+            }
+            writerParked = true;
+            if (QUEUE.isEmpty() && running) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+            }
+            writerParked = false;
+        }
+        closeAll(writers);
+    }
+
+    private static void write(Map<String, BufferedWriter> writers, String logFileName, String logMessage) {
+        // 콘솔 출력
+        System.out.println(logMessage);
+
+        try {
+            BufferedWriter logWriter = writers.get(logFileName);
+            if (logWriter == null) {
+                logWriter = new BufferedWriter(new FileWriter(logFileName, true));
+                writers.put(logFileName, logWriter);
+            }
+            logWriter.write(logMessage);
+            logWriter.newLine();
+        } catch (IOException e) {
+            System.err.println("Error writing to log file: " + logFileName + " - " + e.getMessage());
+            writers.remove(logFileName);
+        }
+    }
+
+    private static void flushAll(Map<String, BufferedWriter> writers) {
+        for (Map.Entry<String, BufferedWriter> writer : writers.entrySet()) {
+            try {
+                writer.getValue().flush();
+            } catch (IOException e) {
+                System.err.println("Error writing to log file: " + writer.getKey() + " - " + e.getMessage());
+            }
+        }
+    }
+
+    private static void closeAll(Map<String, BufferedWriter> writers) {
+        for (Map.Entry<String, BufferedWriter> writer : writers.entrySet()) {
+            try {
+                writer.getValue().close();
+            } catch (IOException e) {
+                System.err.println("Error closing log file: " + writer.getKey() + " - " + e.getMessage());
+            }
+        }
+        writers.clear();
+    }
+}
@@ -0,0 +1,137 @@
+package com.agadev;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+
+public class OraBack {
+    public static void main(String[] args) {
+
+        String env = args[0].toString();
+
+        // 실행 환경 (local, dev, prod)을 전달받음
+        String environment = System.getProperty(env, "local"); // 기본값: local
+        String configFileName = "config_" + environment + ".properties";
+        String logFileName = "oraback_" + environment + ".log";
+
+        LogUtil.log(logFileName, configFileName);
+
+        Properties config = new Properties();
+
+        // 환경 파일 읽기
+        try (InputStream input = new FileInputStream(configFileName)) {
+            config.load(input);
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error loading configuration file: " + configFileName);
+            e.printStackTrace();
+            return;
+        }
+
+        // 로그 레벨 (DEBUG 이면 행 단위 SQL 까지 기록)
+        LogUtil.setLevel(config.getProperty("log.level", "INFO"));
+
+        // 테이블별 백업 실행 (backup.threads 개수만큼 병렬)
+        OraBackupJob.run(config, environment, logFileName, "txt", OraBack::backupTable);
+    }
+
+    // 조회 결과(테이블 또는 테이블 조각)를 txt 형식으로 백업 (한 줄에 한 행, HashMap.toString() 모양)
+    static long backupTable(OraRows data, OutputStream output) throws SQLException, IOException {
+        // 컬럼명, 읽기 방식, 출력 순서는 한 번만 계산
+        OraRowCodec codec = data.codec();
+        int[] order = codec.hashMapOrder();
+        char[][] prefixes = new char[order.length][];
+        for (int i = 0; i < order.length; i++) {
+            prefixes[i] = ((i == 0 ? "{" : ", ") + codec.names[order[i]] + "=").toCharArray();
+        }
+
+        // 행마다 재사용하는 값 버퍼
+        StringBuilder value = new StringBuilder(64);
+        char[] chars = new char[64];
+
+        long rowCount = 0;
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 1 << 16)) {
+            // 데이터 행 처리
+            while (data.next()) {
+                for (int i = 0; i < order.length; i++) {
+                    writer.write(prefixes[i]);
+                    int column = order[i];
+                    if (codec.kinds[column] == OraRowCodec.Kind.CLOB || codec.kinds[column] == OraRowCodec.Kind.BLOB) {
+                        writeLob(writer, data, column + 1, codec.kinds[column]);
+                        continue;
+                    }
+                    value.setLength(0);
+                    appendValue(value, data, column + 1, codec.kinds[column]);
+                    if (chars.length < value.length()) {
+                        chars = new char[value.length() * 2];
+                    }
+                    value.getChars(0, value.length(), chars, 0);
+                    writer.write(chars, 0, value.length());
+                }
+                writer.write(order.length == 0 ? "{}" : "}");
+                writer.newLine();
+                rowCount++;
+            }
+        }
+        return rowCount;
+    }
+
+    // LOB 은 locator 대신 내용을 스트림으로 바로 기록 (CLOB 은 문자열, BLOB 은 Base64, NULL 은 "null")
+    private static void writeLob(Writer writer, OraRows data, int index, OraRowCodec.Kind kind) throws SQLException, IOException {
+        if (kind == OraRowCodec.Kind.CLOB) {
+            Reader reader = data.getCharacterStream(index);
+            if (reader == null) {
+                writer.write("null");
+            } else {
+                OraRowCodec.copyText(reader, writer);
+            }
+        } else {
+            InputStream input = data.getBinaryStream(index);
+            if (input == null) {
+                writer.write("null");
+            } else {
+                OraRowCodec.copyBase64(input, writer);
+            }
+        }
+    }
+
+    // 값 하나를 문자열로 (NULL 은 "null", RAW 는 Base64)
+    private static void appendValue(StringBuilder value, OraRows data, int index, OraRowCodec.Kind kind) throws SQLException {
+        switch (kind) {
+            case LONG: {
+                long number = data.getLong(index);
+                if (data.wasNull()) {
+                    value.append("null");
+                } else {
+                    value.append(number);
+                }
+                return;
+            }
+            case DOUBLE: {
+                double number = data.getDouble(index);
+                if (data.wasNull()) {
+                    value.append("null");
+                } else {
+                    value.append(number);
+                }
+                return;
+            }
+            case STRING:
+                value.append(data.getString(index));
+                return;
+            case DECIMAL:
+                value.append(data.getBigDecimal(index));
+                return;
+            case TIMESTAMP:
+                value.append(data.getTimestamp(index));
+                return;
+            case BINARY: {
+                byte[] bytes = data.getBytes(index);
+                value.append(bytes == null ? null : Base64.getEncoder().encodeToString(bytes));
+                return;
+            }
+            default:
+                value.append(data.getObject(index));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.agadev;
+
+import java.io.*;
+import java.sql.*;
+import java.util.Properties;
+
+public class OraBack_bin {
+    public static void main(String[] args) {
+
+        String env = args[0].toString();
+
+        // 실행 환경 (local, dev, prod)을 전달받음
+        String environment = System.getProperty(env, "local"); // 기본값: local
+        String configFileName = "config_" + environment + ".properties";
+        String logFileName = "oraback_" + environment + ".log";
+
+        LogUtil.log(logFileName, configFileName);
+
+        Properties config = new Properties();
+
+        // 환경 파일 읽기
+        try (InputStream input = new FileInputStream(configFileName)) {
+            config.load(input);
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error loading configuration file: " + configFileName);
+            e.printStackTrace();
+            return;
+        }
+
+        // 로그 레벨 (DEBUG 이면 행 단위 SQL 까지 기록)
+        LogUtil.setLevel(config.getProperty("log.level", "INFO"));
+
+        // 테이블별 백업 실행 (backup.threads 개수만큼 병렬)
+        OraBackupJob.run(config, environment, logFileName, "orb", OraBack_bin::backupTable);
+    }
+
+    // 조회 결과(테이블 또는 테이블 조각)를 이진 컬럼 포맷(.orb)으로 백업
+    static long backupTable(OraRows data, OutputStream output) throws SQLException, IOException {
+        try (OraBinWriter writer = new OraBinWriter(output, data.codec(), OraBinWriter.DEFAULT_BLOCK_ROWS)) {
+            // 데이터 행 처리
+            while (data.next()) {
+                writer.writeRow(data);
+            }
+            return writer.getRowCount();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.agadev;
+
+import java.io.*;
+import java.sql.*;
+import java.util.Properties;
+
+public class OraBack_csv {
+    public static void main(String[] args) {
+
+        String env = args[0].toString();
+
+        // 실행 환경 (local, dev, prod)을 전달받음
+        String environment = System.getProperty(env, "local"); // 기본값: local
+        String configFileName = "config_" + environment + ".properties";
+        String logFileName = "oraback_" + environment + ".log";
+
+        LogUtil.log(logFileName, configFileName);
+
+        Properties config = new Properties();
+
+        // 환경 파일 읽기
+        try (InputStream input = new FileInputStream(configFileName)) {
+            config.load(input);
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error loading configuration file: " + configFileName);
+            e.printStackTrace();
+            return;
+        }
+
+        // 로그 레벨 (DEBUG 이면 행 단위 SQL 까지 기록)
+        LogUtil.setLevel(config.getProperty("log.level", "INFO"));
+
+        // 구분자 (csv.delimiter=comma 이면 .csv, tab 이면 .tsv)
+        char delimiter = OraCsvWriter.delimiterOf(config);
+
+        // 테이블별 백업 실행 (backup.threads 개수만큼 병렬)
+        OraBackupJob.run(config, environment, logFileName, OraCsvWriter.extensionOf(delimiter), new OraBackupJob.TableBackup() {
+            @Override
+            public long backup(OraRows data, OutputStream output) throws Exception {
+                return backupTable(data, output, delimiter);
+            }
+
+            @Override
+            public void written(File file, String tableName, OraRowCodec codec) throws IOException {
+                OraCsvWriter.writeControlFile(file, tableName, codec, delimiter);
+            }
+        });
+    }
+
+    // 조회 결과(테이블 또는 테이블 조각)를 헤더 있는 구분자 텍스트로 백업
+    static long backupTable(OraRows data, OutputStream output, char delimiter) throws SQLException, IOException {
+        try (OraCsvWriter writer = new OraCsvWriter(output, data.codec(), delimiter)) {
+            // 데이터 행 처리
+            while (data.next()) {
+                writer.writeRow(data);
+            }
+            return writer.getRowCount();
+        }
+    }
+}
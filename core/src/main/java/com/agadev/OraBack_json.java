@@ -0,0 +1,190 @@
+package com.agadev;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.Base64;
+import java.util.Properties;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+
+public class OraBack_json {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public static void main(String[] args) {
+
+		String env = args[0].toString();
+		
+		// 실행 환경 (local, dev, prod)을 전달받음
+        String environment = System.getProperty(env, "local"); // 기본값: local
+        String configFileName = "config_" + environment + ".properties";
+        String logFileName = "oraback_" + environment + ".log";
+        
+        LogUtil.log(logFileName, configFileName);
+
+        Properties config = new Properties();
+        
+        // 환경 파일 읽기
+        try (InputStream input = new FileInputStream(configFileName)) {
+            config.load(input);
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error loading configuration file: " + configFileName);
+            e.printStackTrace();
+            return;
+        }
+
+        // 로그 레벨 (DEBUG 이면 행 단위 SQL 까지 기록)
+        LogUtil.setLevel(config.getProperty("log.level", "INFO"));
+
+        // 테이블별 백업 실행 (backup.threads 개수만큼 병렬)
+        OraBackupJob.run(config, environment, logFileName, "json", OraBack_json::backupTable);
+    }
+
+    // 조회 결과(테이블 또는 테이블 조각)를 읽는 즉시 JSON 배열로 기록 (메모리에 전체 테이블을 올리지 않음)
+    static long backupTable(OraRows data, OutputStream output) throws SQLException, IOException {
+        // 컬럼명(미리 인코딩한 필드명)과 읽기 방식은 한 번만 계산
+        OraRowCodec codec = data.codec();
+        SerializedString[] fieldNames = new SerializedString[codec.columnCount];
+        for (int i = 0; i < codec.columnCount; i++) {
+            fieldNames[i] = new SerializedString(codec.names[i]);
+        }
+
+        // 기존 org.json 출력과 같은 4칸 들여쓰기
+        DefaultIndenter indenter = new DefaultIndenter("    ", DefaultIndenter.SYS_LF);
+        DefaultPrettyPrinter printer = new DefaultPrettyPrinter();
+        printer.indentArraysWith(indenter);
+        printer.indentObjectsWith(indenter);
+
+        long rowCount = 0;
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.setPrettyPrinter(printer);
+            generator.writeStartArray();
+
+            // 데이터 행 처리
+            while (data.next()) {
+                generator.writeStartObject();
+                for (int i = 0; i < codec.columnCount; i++) {
+                    writeColumn(generator, fieldNames[i], data, i + 1, codec.kinds[i]);
+                }
+                generator.writeEndObject();
+                rowCount++;
+            }
+
+            generator.writeEndArray();
+        }
+        return rowCount;
+    }
+
+    // 타입별 접근자로 값을 읽어 바로 기록 (NULL 은 필드 생략)
+    private static void writeColumn(JsonGenerator generator, SerializedString fieldName, OraRows data, int index,
+                                    OraRowCodec.Kind kind) throws SQLException, IOException {
+        switch (kind) {
+            case STRING: {
+                String value = data.getString(index);
+                if (value != null) {
+                    generator.writeFieldName(fieldName);
+                    generator.writeString(value);
+                }
+                return;
+            }
+            case DECIMAL: {
+                BigDecimal value = data.getBigDecimal(index);
+                if (value != null) {
+                    generator.writeFieldName(fieldName);
+                    generator.writeNumber(value);
+                }
+                return;
+            }
+            case LONG: {
+                long value = data.getLong(index);
+                if (!data.wasNull()) {
+                    generator.writeFieldName(fieldName);
+                    generator.writeNumber(value);
+                }
+                return;
+            }
+            case DOUBLE: {
+                double value = data.getDouble(index);
+                if (!data.wasNull()) {
+                    generator.writeFieldName(fieldName);
+                    generator.writeNumber(value);
+                }
+                return;
+            }
+            case TIMESTAMP: {
+                Timestamp value = data.getTimestamp(index);
+                if (value != null) {
+                    generator.writeFieldName(fieldName);
+                    generator.writeString(value.toString());
+                }
+                return;
+            }
+            case CLOB:
+                writeClobField(generator, fieldName, data.getCharacterStream(index));
+                return;
+            case BLOB:
+                writeBlobField(generator, fieldName, data.getBinaryStream(index));
+                return;
+            case BINARY: {
+                // RAW 는 BLOB 과 같이 Base64
+                byte[] value = data.getBytes(index);
+                if (value != null) {
+                    generator.writeFieldName(fieldName);
+                    generator.writeString(Base64.getEncoder().encodeToString(value));
+                }
+                return;
+            }
+            default:
+                writeJsonField(generator, fieldName, data.getObject(index));
+        }
+    }
+
+    // CLOB 은 locator 스트림을 그대로 출력으로 복사
+    private static void writeClobField(JsonGenerator generator, SerializedString fieldName, Reader reader) throws IOException {
+        if (reader == null) {
+            return;
+        }
+        try (Reader clob = reader) {
+            generator.writeFieldName(fieldName);
+            generator.writeString(clob, -1);
+        }
+    }
+
+    // BLOB 은 스트림을 읽으며 Base64 로 기록
+    private static void writeBlobField(JsonGenerator generator, SerializedString fieldName, InputStream input) throws IOException {
+        if (input == null) {
+            return;
+        }
+        try (InputStream blob = input) {
+            generator.writeFieldName(fieldName);
+            generator.writeBinary(blob, -1);
+        }
+    }
+
+    // org.json JSONObject 와 같은 규칙으로 값 기록 (null 은 생략, 숫자/불린 외에는 문자열)
+    private static void writeJsonField(JsonGenerator generator, SerializedString fieldName, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        generator.writeFieldName(fieldName);
+        if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 테이블 목록을 크기순으로 정렬해 여러 작업 스레드로 백업하는 공통 실행기
+public class OraBackupJob {
+
+    // 포맷별 백업: SELECT 결과를 출력 스트림 하나에 기록 (처리한 행 수 반환)
+    // data 는 ResultSet 을 바로 읽거나 (순차) fetch 단계가 미리 읽어 둔 배치를 읽음 (pipeline.enabled)
+    public interface TableBackup {
+        long backup(OraRows data, OutputStream output) throws Exception;
+
+        // 파일 기록이 끝난 뒤 호출 (csv 는 SQL*Loader 제어 파일을 같이 씀)
+        default void written(File file, String tableName, OraRowCodec codec) throws IOException {
+        }
+    }
+
+    // 압축 설정 (codec: none, gzip, lz4, zstd)
+    static class Compression {
+        final String codec;
+        final int level;
+        final boolean async;
+        final String suffix;
+
+        Compression(String codec, int level, boolean async) {
+            this.codec = codec;
+            this.level = level;
+            this.async = async;
+            this.suffix = OraCompression.suffixOf(codec);
+        }
+
+        OutputStream open(File file) throws IOException {
+            return OraCompression.openOutput(file, codec, level, async);
+        }
+    }
+
+    // all_tables 의 테이블 정보 (name 은 현재 스키마면 테이블명, 아니면 OWNER.TABLE)
+    static class TableInfo {
+        final String name;
+        final String owner;
+        final long numRows;
+        final long blocks;
+        final long avgRowLen;
+        // 추정 크기 (세그먼트 바이트, 없으면 통계로 계산)
+        final long bytes;
+
+        TableInfo(String name, String owner, long numRows, long blocks, long avgRowLen, long bytes) {
+            this.name = name;
+            this.owner = owner;
+            this.numRows = numRows;
+            this.blocks = blocks;
+            this.avgRowLen = avgRowLen;
+            this.bytes = bytes;
+        }
+    }
+
+    public static void run(Properties config, String environment, String logFileName, String extension, TableBackup tableBackup) {
+        // 환경 변수 가져오기
+        String jdbcUrl = config.getProperty("jdbc.url");
+        String username = config.getProperty("jdbc.username");
+        String password = config.getProperty("jdbc.password");
+        String outputDir = config.getProperty("output.dir");
+        int threads = Integer.parseInt(config.getProperty("backup.threads", "1").trim());
+        int poolSize = Integer.parseInt(config.getProperty("pool.size", String.valueOf(threads)).trim());
+        int chunkCount = Integer.parseInt(config.getProperty("chunk.count", String.valueOf(threads)).trim());
+        long chunkThreshold = Long.parseLong(config.getProperty("chunk.threshold.rows", "1000000").trim());
+        String chunkMethod = config.getProperty("chunk.method", "auto").trim();
+        Compression compression = new Compression(config.getProperty("compression.codec", "none").trim(),
+                Integer.parseInt(config.getProperty("compression.level", "-1").trim()),
+                Boolean.parseBoolean(config.getProperty("compression.async", "true").trim()));
+        OraFetch fetch = OraFetch.fromConfig(config);
+        OraIncremental incremental = OraIncremental.fromConfig(config);
+        OraPipeline pipeline = OraPipeline.fromConfig(config);
+        OraSnapshot snapshot = OraSnapshot.fromConfig(config);
+        OraRepository repository = OraRepository.fromConfig(config);
+        OraCatalog catalog = OraCatalog.fromConfig(config);
+
+        // 계획만 기록하고 끝냄 (출력 디렉토리와 저널은 건드리지 않음)
+        if (catalog.isDryRun()) {
+            try (OraPool pool = new OraPool(jdbcUrl, username, password, fetch.connectionProperties(), 1)) {
+                Connection conn = pool.take();
+                try {
+                    LogUtil.log(logFileName, "Dry run in " + environment + " environment, selecting " + catalog.describe());
+                    catalog.logPlan(catalog.listTables(conn, logFileName), threads, chunkCount, chunkThreshold, logFileName);
+                } finally {
+                    pool.release(conn);
+                }
+            } catch (Exception e) {
+                LogUtil.log(logFileName, "Error during backup planning: " + e.getMessage());
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        // 백업 디렉토리 생성
+        File dir = new File(outputDir);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+
+        try (OraPool pool = new OraPool(jdbcUrl, username, password, fetch.connectionProperties(), poolSize);
+             OraMetrics metrics = OraMetrics.start(config, "backup", environment, logFileName);
+             OraThrottle throttle = OraThrottle.start(config, metrics, logFileName);
+             OraJournal journal = OraJournal.open(OraJournal.backupJournal(dir, extension), OraJournal.resumeRequested(config), logFileName)) {
+            ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, threads));
+
+            Connection conn = pool.take();
+            try {
+                LogUtil.log(logFileName, "Connected to Oracle Database in " + environment + " environment.");
+
+                // 모든 테이블을 같은 SCN 시점으로 읽음 (undo 보존 시간이 부족하면 여기서 실패)
+                snapshot = snapshot.pin(conn, dir, extension, journal.isResuming(), logFileName);
+
+                // 대상 테이블 목록 (추정 크기가 큰 테이블부터)
+                List<TableInfo> tables = catalog.listTables(conn, logFileName);
+                LogUtil.log(logFileName, "Selected " + tables.size() + " tables: " + catalog.describe());
+                LogUtil.log(logFileName, "Backing up " + tables.size() + " tables with " + threads + " worker(s), pool size " + pool.getMaxSize());
+                if (pipeline.isEnabled()) {
+                    LogUtil.log(logFileName, "Pipelined export: " + pipeline.describe());
+                }
+                for (TableInfo table : tables) {
+                    metrics.table(table.name, table.numRows);
+                }
+
+                for (TableInfo table : tables) {
+                    // 이전 실행(job.resume)에서 끝난 테이블은 건너뜀
+                    long backedUpRows = journal.backedUpRows(dir, table.name);
+                    if (backedUpRows >= 0) {
+                        LogUtil.log(logFileName, "Skipping table already backed up: " + table.name + " (" + backedUpRows + " rows)");
+                        metrics.done(table.name);
+                        continue;
+                    }
+
+                    int fetchSize = fetch.fetchSizeFor(table.avgRowLen);
+                    OraIncremental.TablePlan plan;
+                    try {
+                        plan = incremental.plan(conn, dir, table.name, extension, snapshot, logFileName);
+                    } catch (SQLException | RuntimeException e) {
+                        // 이 테이블만 실패 처리 (루프를 벗어나면 제출한 작업이 끝나기 전에 풀이 닫힘)
+                        LogUtil.log(logFileName, "Error reading high-water mark for table: " + table.name + " - " + e.getMessage());
+                        metrics.error(table.name);
+                        metrics.failed(table.name);
+                        continue;
+                    }
+
+                    // 증분 모드: 이전 high-water mark 이후 변경분만 추출
+                    if (plan.isDelta()) {
+                        submitDelta(workers, pool, table.name, plan, fetchSize, dir, extension, compression, pipeline, snapshot, metrics, throttle, journal, logFileName, tableBackup);
+                        continue;
+                    }
+
+                    // 큰 테이블은 조각으로 나눠 동시에 추출
+                    List<OraChunkPlanner.Chunk> chunks = new ArrayList<>();
+                    if (chunkCount > 1 && table.numRows >= chunkThreshold) {
+                        chunks = OraChunkPlanner.plan(conn, table.name, chunkMethod, chunkCount, logFileName);
+                    }
+                    if (chunks.size() > 1) {
+                        submitChunked(workers, pool, table.name, plan, chunks, fetchSize, dir, extension, compression, pipeline, snapshot, metrics, throttle, journal, logFileName, tableBackup);
+                    } else {
+                        submitSingle(workers, pool, table.name, plan, fetchSize, dir, extension, compression, pipeline, snapshot, metrics, throttle, journal, logFileName, tableBackup);
+                    }
+                }
+            } finally {
+                pool.release(conn);
+            }
+
+            workers.shutdown();
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                // 모든 테이블이 끝날 때까지 대기
+            }
+            // 실패가 없으면 다음 실행은 처음부터
+            if (!metrics.hasFailures()) {
+                journal.recordFinished();
+                // 저장소에 이번 실행 보관 (실패한 테이블이 있으면 이전 파일이 섞이므로 보관하지 않음)
+                if (repository.isEnabled()) {
+                    repository.store(dir, extension, logFileName);
+                }
+            } else if (repository.isEnabled()) {
+                LogUtil.log(logFileName, "Backup had failures, run not stored in repository");
+            }
+
+            LogUtil.log(logFileName, "Backup completed successfully in " + environment + " environment.");
+        } catch (Exception e) {
+            LogUtil.log(logFileName, "Error during backup process: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // 테이블 전체를 <테이블명>.<확장자> 하나로 백업 (오류는 해당 테이블에서만 처리)
+    private static void submitSingle(ExecutorService workers, OraPool pool, String tableName, OraIncremental.TablePlan plan, int fetchSize,
+                                     File dir, String extension,
+                                     Compression compression, OraPipeline pipeline, OraSnapshot snapshot, OraMetrics metrics, OraThrottle throttle, OraJournal journal,
+                                     String logFileName, TableBackup tableBackup) {
+        workers.submit(() -> {
+            LogUtil.log(logFileName, "Starting backup for table: " + tableName + " (fetch size " + fetchSize + ")");
+            metrics.running(tableName);
+            Connection conn = null;
+            try {
+                conn = pool.take();
+                String fileName = tableName + "." + extension;
+                File file = new File(dir, fileName + compression.suffix);
+                long rowCount = export(conn, tableName, "SELECT * FROM " + tableName + snapshot.asOf(), fetchSize, file, compression, pipeline, metrics, throttle, tableBackup);
+                // 이전 조각 백업이나 다른 코덱 백업이 남아 있으면 복원 시 중복되므로 제거
+                OraChunkManifest.manifestFile(dir, tableName, extension).delete();
+                OraCompression.deleteVariants(dir, fileName, compression.suffix);
+                OraIncremental.recordBase(dir, tableName, extension, plan, fileName + compression.suffix);
+                journal.recordTable(tableName, file.getName(), rowCount, file.length());
+                metrics.done(tableName);
+                LogUtil.log(logFileName, "Backup completed for table: " + tableName + " (" + rowCount + " rows)");
+            } catch (Exception e) {
+                metrics.error(tableName);
+                metrics.failed(tableName);
+                LogUtil.log(logFileName, "Error backing up table: " + tableName + " - " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                pool.release(conn);
+            }
+        });
+    }
+
+    // 조각별로 작업을 나눠 제출, 마지막 조각이 끝나면 manifest 기록
+    private static void submitChunked(ExecutorService workers, OraPool pool, String tableName, OraIncremental.TablePlan plan,
+                                      List<OraChunkPlanner.Chunk> chunks, int fetchSize, File dir, String extension, Compression compression,
+                                      OraPipeline pipeline, OraSnapshot snapshot, OraMetrics metrics, OraThrottle throttle, OraJournal journal, String logFileName,
+                                      TableBackup tableBackup) {
+        metrics.running(tableName);
+        LogUtil.log(logFileName, "Starting backup for table: " + tableName + " in " + chunks.size() + " chunks by " + chunks.get(0).method
+                + " (fetch size " + fetchSize + ")");
+
+        List<String> partFiles = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            partFiles.add(OraChunkManifest.partFileName(tableName, extension, i + 1) + compression.suffix);
+        }
+        long[] rowCounts = new long[chunks.size()];
+        AtomicInteger remaining = new AtomicInteger(chunks.size());
+        AtomicInteger failed = new AtomicInteger();
+
+        for (int i = 0; i < chunks.size(); i++) {
+            int index = i;
+            workers.submit(() -> {
+                OraChunkPlanner.Chunk chunk = chunks.get(index);
+                Connection conn = null;
+                try {
+                    File partFile = new File(dir, partFiles.get(index));
+                    long doneRows = journal.chunkRows(dir, tableName, index + 1, chunk.describe(), partFile.getName());
+                    if (doneRows >= 0) {
+                        LogUtil.log(logFileName, "Skipping chunk already backed up: " + tableName + " chunk " + (index + 1));
+                        rowCounts[index] = doneRows;
+                    } else {
+                        conn = pool.take();
+                        rowCounts[index] = export(conn, tableName, chunk.selectQuery(tableName, snapshot.asOf()), fetchSize, partFile, compression, pipeline, metrics, throttle, tableBackup);
+                        journal.recordChunk(tableName, index + 1, chunk.describe(), partFile.getName(), rowCounts[index], partFile.length());
+                    }
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    metrics.error(tableName);
+                    LogUtil.log(logFileName, "Error backing up table: " + tableName + " chunk " + (index + 1) + " [" + chunk.describe() + "] - " + e.getMessage());
+                    e.printStackTrace();
+                } finally {
+                    pool.release(conn);
+                }
+
+                if (remaining.decrementAndGet() == 0) {
+                    finishChunked(tableName, plan, chunks, partFiles, rowCounts, failed.get(), dir, extension, snapshot, metrics, journal, logFileName);
+                }
+            });
+        }
+    }
+
+    // 변경분을 <테이블명>.<확장자>.deltaNNNN 하나로 추출, 완료 후 증분 상태 갱신
+    private static void submitDelta(ExecutorService workers, OraPool pool, String tableName, OraIncremental.TablePlan plan, int fetchSize,
+                                    File dir, String extension, Compression compression, OraPipeline pipeline, OraSnapshot snapshot,
+                                    OraMetrics metrics, OraThrottle throttle, OraJournal journal, String logFileName, TableBackup tableBackup) {
+        workers.submit(() -> {
+            metrics.running(tableName);
+            LogUtil.log(logFileName, "Starting incremental backup for table: " + tableName
+                    + (plan.filter == null ? "" : " [" + plan.filter + "]") + " (fetch size " + fetchSize + ")");
+            Connection conn = null;
+            try {
+                conn = pool.take();
+                String fileName = OraIncremental.deltaFileName(tableName, extension, plan.deltaIndex()) + compression.suffix;
+                String selectQuery = "SELECT * FROM " + tableName + snapshot.asOf() + (plan.filter == null ? "" : " WHERE " + plan.filter);
+                File file = new File(dir, fileName);
+                long rowCount = export(conn, tableName, selectQuery, fetchSize, file, compression, pipeline, metrics, throttle, tableBackup);
+                OraIncremental.recordDelta(dir, tableName, extension, plan, fileName, rowCount);
+                journal.recordTable(tableName, fileName, rowCount, file.length());
+                metrics.done(tableName);
+                LogUtil.log(logFileName, "Incremental backup completed for table: " + tableName + " (" + rowCount + " changed rows in " + fileName + ")");
+            } catch (Exception e) {
+                metrics.error(tableName);
+                metrics.failed(tableName);
+                LogUtil.log(logFileName, "Error backing up table: " + tableName + " - " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                pool.release(conn);
+            }
+        });
+    }
+
+    // SELECT 실행 후 포맷별로 파일에 기록 (행 수, fetch 왕복 시간, 파일 크기는 테이블 계측에 반영)
+    // 파이프라인이면 fetch 는 fetch 스레드, 인코딩과 압축은 이 작업 스레드, 파일 기록은 기록 스레드에서
+    private static long export(Connection conn, String tableName, String selectQuery, int fetchSize, File file,
+                               Compression compression, OraPipeline pipeline, OraMetrics metrics, OraThrottle throttle,
+                               TableBackup tableBackup) throws Exception {
+        OraThrottle.Worker worker = throttle.worker();
+        OraMetrics.Progress progress = metrics.progress(tableName, fetchSize, worker);
+        long rowCount;
+        OraRowCodec codec;
+        try (Statement dataStmt = conn.createStatement()) {
+            dataStmt.setFetchSize(fetchSize);
+            long start = System.nanoTime();
+            try (ResultSet data = dataStmt.executeQuery(selectQuery)) {
+                progress.executed(System.nanoTime() - start);
+                codec = OraRowCodec.of(data.getMetaData());
+                if (pipeline.accepts(codec)) {
+                    try (OraPipeline.Fetcher rows = pipeline.fetch(data, codec, fetchSize, progress);
+                         OutputStream output = worker.output(pipeline.open(file, compression.codec, compression.level))) {
+                        rowCount = tableBackup.backup(rows, output);
+                    }
+                } else {
+                    try (OutputStream output = worker.output(compression.open(file))) {
+                        rowCount = tableBackup.backup(OraRows.of(data, codec, progress), output);
+                    }
+                }
+            }
+        } finally {
+            progress.finish();
+        }
+        tableBackup.written(file, tableName, codec);
+        metrics.table(tableName).bytes.add(file.length());
+        return rowCount;
+    }
+
+    private static void finishChunked(String tableName, OraIncremental.TablePlan plan, List<OraChunkPlanner.Chunk> chunks, List<String> partFiles, long[] rowCounts,
+                                      int failed, File dir, String extension, OraSnapshot snapshot, OraMetrics metrics, OraJournal journal,
+                                      String logFileName) {
+        if (failed > 0) {
+            metrics.failed(tableName);
+            LogUtil.log(logFileName, "Error backing up table: " + tableName + " - " + failed + " of " + chunks.size() + " chunks failed, manifest not written");
+            return;
+        }
+        try {
+            File manifestFile = OraChunkManifest.manifestFile(dir, tableName, extension);
+            OraChunkManifest.write(manifestFile, tableName, chunks, partFiles, rowCounts, snapshot.getScn());
+            // 이전 단일 파일 백업이 남아 있으면 복원 시 중복되므로 제거
+            OraCompression.deleteVariants(dir, tableName + "." + extension, null);
+            OraIncremental.recordBase(dir, tableName, extension, plan, manifestFile.getName());
+            long rowCount = 0;
+            for (long count : rowCounts) {
+                rowCount += count;
+            }
+            journal.recordTable(tableName, manifestFile.getName(), rowCount, manifestFile.length());
+            metrics.done(tableName);
+            LogUtil.log(logFileName, "Backup completed for table: " + tableName + " (" + rowCount + " rows in " + chunks.size() + " chunks)");
+        } catch (Exception e) {
+            metrics.error(tableName);
+            metrics.failed(tableName);
+            LogUtil.log(logFileName, "Error writing chunk manifest for table: " + tableName + " - " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
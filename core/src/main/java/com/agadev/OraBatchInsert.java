@@ -0,0 +1,173 @@
+package com.agadev;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// 테이블마다 파라미터 INSERT 하나를 준비해 JDBC 배치로 적재
+public class OraBatchInsert {
+
+    // 대상 테이블의 컬럼명, JDBC 타입과 값 변환 코덱
+    static class TableColumns {
+        final List<String> names;
+        final int[] types;
+        final OraTypeCodec.Codec[] codecs;
+
+        TableColumns(List<String> names, int[] types, OraTypeCodec.Codec[] codecs) {
+            this.names = names;
+            this.types = types;
+            this.codecs = codecs;
+        }
+    }
+
+    // 중간 커밋 직후 호출 (이번 호출에서 커밋까지 끝난 행 수)
+    interface CommitListener {
+        void committed(long rows) throws SQLException;
+    }
+
+    // 컬럼 타입 조회 (all_tab_columns, 테이블마다 한 번)
+    static TableColumns describe(Connection conn, String tableName) throws SQLException {
+        return OraTypeCodec.describe(conn, tableName);
+    }
+
+    // 행을 읽지 않고 메타데이터만 조회 (딕셔너리에서 찾지 못한 경우)
+    static TableColumns describeResult(Connection conn, String tableName) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + tableName + " WHERE 1 = 0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            List<String> names = new ArrayList<>();
+            int[] types = new int[columnCount];
+            OraTypeCodec.Codec[] codecs = new OraTypeCodec.Codec[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                names.add(metaData.getColumnName(i));
+                types[i - 1] = metaData.getColumnType(i);
+                codecs[i - 1] = OraTypeCodec.of(types[i - 1]);
+            }
+            return new TableColumns(names, types, codecs);
+        }
+    }
+
+    static long insertRows(Connection conn, String tableName, List<Map<String, Object>> dataList,
+                           int batchSize, int commitInterval, String logFileName) throws SQLException {
+        return insertRows(conn, tableName, dataList.iterator(), batchSize, commitInterval, null, null, null, logFileName);
+    }
+
+    static long insertRows(Connection conn, String tableName, TableColumns columns, List<Map<String, Object>> dataList,
+                           int batchSize, int commitInterval, String logFileName) throws SQLException {
+        return insertRows(conn, tableName, columns, dataList.iterator(), batchSize, commitInterval, null, null, null, logFileName);
+    }
+
+    // batchSize 행마다 executeBatch, commitInterval 행마다 commit (0 이면 마지막에 한 번)
+    // hint: INSERT 힌트 (예: /*+ APPEND_VALUES */), 없으면 null
+    // metrics: executeBatch 마다 지연 시간, 배치 크기, 행 수 기록 (없으면 null)
+    // listener: 중간 커밋마다 호출 (없으면 null)
+    static long insertRows(Connection conn, String tableName, Iterator<Map<String, Object>> rows,
+                           int batchSize, int commitInterval, String hint, OraMetrics.Table metrics,
+                           CommitListener listener, String logFileName) throws SQLException {
+        return insertRows(conn, tableName, describe(conn, tableName), rows, batchSize, commitInterval, hint, metrics, listener, logFileName);
+    }
+
+    // columns: 미리 조회한 컬럼 타입 (OraTypeCodec.decoding 으로 변환해 둔 행은 그대로 바인딩)
+    static long insertRows(Connection conn, String tableName, TableColumns columns, Iterator<Map<String, Object>> rows,
+                           int batchSize, int commitInterval, String hint, OraMetrics.Table metrics,
+                           CommitListener listener, String logFileName) throws SQLException {
+        String insertQuery = buildInsertQuery(tableName, columns.names, hint);
+
+        long inserted = 0;
+        int pending = 0;
+        try (PreparedStatement insertStmt = conn.prepareStatement(insertQuery)) {
+            while (rows.hasNext()) {
+                Map<String, Object> row = rows.next();
+                // 파일에 없는 컬럼은 NULL
+                for (int i = 0; i < columns.types.length; i++) {
+                    columns.codecs[i].bind(insertStmt, i + 1, row.get(columns.names.get(i)), columns.types[i]);
+                }
+                if (LogUtil.isDebugEnabled()) {
+                    LogUtil.debug(logFileName, insertQuery + " " + row);
+                }
+                insertStmt.addBatch();
+                pending++;
+                inserted++;
+
+                if (pending >= batchSize) {
+                    executeBatch(insertStmt, pending, metrics);
+                    pending = 0;
+                }
+                if (commitInterval > 0 && inserted % commitInterval == 0) {
+                    if (pending > 0) {
+                        executeBatch(insertStmt, pending, metrics);
+                        pending = 0;
+                    }
+                    conn.commit();
+                    LogUtil.log(logFileName, "Committed " + inserted + " rows into table: " + tableName);
+                    if (listener != null) {
+                        listener.committed(inserted);
+                    }
+                }
+            }
+
+            // 배치 실행
+            if (pending > 0) {
+                executeBatch(insertStmt, pending, metrics);
+            }
+        }
+        return inserted;
+    }
+
+    private static void executeBatch(PreparedStatement insertStmt, int pending, OraMetrics.Table metrics) throws SQLException {
+        if (metrics == null) {
+            insertStmt.executeBatch();
+            return;
+        }
+        long start = System.nanoTime();
+        insertStmt.executeBatch();
+        metrics.recordBatch(System.nanoTime() - start, pending);
+    }
+
+    // 컬럼 타입에 맞춰 값 바인딩 (파일에서 문자열로 읽힌 날짜/숫자 변환)
+    static void bindValue(PreparedStatement stmt, int index, Object value, int sqlType) throws SQLException {
+        OraTypeCodec.of(sqlType).bind(stmt, index, value, sqlType);
+    }
+
+    // "yyyy-MM-dd" 또는 "yyyy-MM-dd HH:mm:ss[.f]"
+    static Timestamp parseTimestamp(String text) {
+        String trimmed = text.trim();
+        if (trimmed.length() == 10) {
+            trimmed = trimmed + " 00:00:00";
+        }
+        return Timestamp.valueOf(trimmed);
+    }
+
+    // INSERT 쿼리 생성
+    static String buildInsertQuery(String tableName, List<String> columns, String hint) {
+        StringBuilder query = new StringBuilder();
+
+        // INSERT INTO 테이블명 추가
+        query.append("INSERT ");
+        if (hint != null && !hint.isEmpty()) {
+            query.append(hint).append(" ");
+        }
+        query.append("INTO ").append(tableName).append(" (");
+
+        // 컬럼명 연결
+        query.append(String.join(", ", columns));
+
+        query.append(") VALUES (");
+
+        // ? 연결
+        query.append(String.join(", ", Collections.nCopies(columns.size(), "?")));
+
+        query.append(")");
+        return query.toString();
+    }
+}
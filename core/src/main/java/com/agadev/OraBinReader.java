@@ -0,0 +1,160 @@
+package com.agadev;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 이진 컬럼 포맷(.orb) 읽기 (구조는 OraBinWriter 참고)
+public class OraBinReader implements OraRowSource {
+
+    private final DataInputStream in;
+    private final int columnCount;
+    private final String[] names;
+    private final int[] sqlTypes;
+    private final int[] precisions;
+    private final int[] scales;
+    private final boolean[] nullables;
+    private final byte[] encodings;
+
+    // 현재 블록 (컬럼별 값 배열)
+    private Object[][] columns;
+    private int rowsInBlock;
+    private int nextRow;
+    private boolean finished;
+
+    public OraBinReader(InputStream input) throws IOException {
+        this.in = new DataInputStream(input);
+        byte[] magic = new byte[OraBinWriter.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, OraBinWriter.MAGIC)) {
+            throw new IOException("Not an .orb backup file");
+        }
+        columnCount = in.readInt();
+        names = new String[columnCount];
+        sqlTypes = new int[columnCount];
+        precisions = new int[columnCount];
+        scales = new int[columnCount];
+        nullables = new boolean[columnCount];
+        encodings = new byte[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = readString();
+            sqlTypes[i] = in.readInt();
+            precisions[i] = in.readInt();
+            scales[i] = in.readInt();
+            nullables[i] = in.readByte() != 0;
+            encodings[i] = in.readByte();
+        }
+        columns = new Object[columnCount][0];
+    }
+
+    public List<String> getColumnNames() {
+        return Arrays.asList(names);
+    }
+
+    public int getColumnType(int index) {
+        return sqlTypes[index];
+    }
+
+    public int getPrecision(int index) {
+        return precisions[index];
+    }
+
+    public int getScale(int index) {
+        return scales[index];
+    }
+
+    public boolean isNullable(int index) {
+        return nullables[index];
+    }
+
+    // 다음 행을 컬럼명 -> 값 맵으로 반환 (끝이면 null)
+    @Override
+    public Map<String, Object> next() throws IOException {
+        if (nextRow == rowsInBlock && !readBlock()) {
+            return null;
+        }
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int c = 0; c < columnCount; c++) {
+            Object value = columns[c][nextRow];
+            if (value != null) {
+                row.put(names[c], value);
+            }
+        }
+        nextRow++;
+        return row;
+    }
+
+    private boolean readBlock() throws IOException {
+        if (finished) {
+            return false;
+        }
+        int rows = in.readInt();
+        if (rows == 0) {
+            finished = true;
+            return false;
+        }
+        if (columns[0].length < rows) {
+            columns = new Object[columnCount][rows];
+        }
+        byte[] bitmap = new byte[(rows + 7) / 8];
+        for (int c = 0; c < columnCount; c++) {
+            in.readFully(bitmap);
+            Object[] values = columns[c];
+            for (int r = 0; r < rows; r++) {
+                boolean isNull = (bitmap[r >> 3] & (1 << (r & 7))) != 0;
+                values[r] = isNull ? null : readValue(encodings[c]);
+            }
+        }
+        rowsInBlock = rows;
+        nextRow = 0;
+        return true;
+    }
+
+    private Object readValue(byte encoding) throws IOException {
+        switch (encoding) {
+            case OraBinWriter.ENC_DECIMAL: {
+                int scale = in.readShort();
+                byte[] unscaled = new byte[in.readUnsignedByte()];
+                in.readFully(unscaled);
+                return new BigDecimal(new BigInteger(unscaled), scale);
+            }
+            case OraBinWriter.ENC_LONG:
+                return in.readLong();
+            case OraBinWriter.ENC_DOUBLE:
+                return in.readDouble();
+            case OraBinWriter.ENC_TIMESTAMP: {
+                long epochSecond = in.readLong();
+                int nanos = in.readInt();
+                return Timestamp.valueOf(LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC));
+            }
+            case OraBinWriter.ENC_BYTES: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return bytes;
+            }
+            default:
+                return readString();
+        }
+    }
+
+    private String readString() throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,237 @@
+package com.agadev;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// 이진 컬럼 포맷(.orb) 기록
+//
+// 파일 구조
+//   헤더: "ORB1", 컬럼 수, 컬럼별 (이름, JDBC 타입, precision, scale, nullable, 인코딩)
+//   블록: 행 수(int) 다음에 컬럼마다 null 비트맵 + null 이 아닌 값들을 타입별 인코딩으로 연속 기록
+//   끝: 행 수 0 인 블록
+public class OraBinWriter implements AutoCloseable {
+
+    static final byte[] MAGIC = { 'O', 'R', 'B', '1' };
+    static final int DEFAULT_BLOCK_ROWS = 4096;
+
+    // 컬럼 인코딩
+    static final byte ENC_DECIMAL = 1;
+    static final byte ENC_LONG = 2;
+    static final byte ENC_DOUBLE = 3;
+    static final byte ENC_TIMESTAMP = 4;
+    static final byte ENC_STRING = 5;
+    static final byte ENC_BYTES = 6;
+
+    private final DataOutputStream out;
+    private final int columnCount;
+    private final byte[] encodings;
+    private final int blockRows;
+
+    // 블록 단위 컬럼 버퍼 (블록마다 재사용, 정수/실수 컬럼은 박싱 없이 long 배열에 저장)
+    private final Object[][] columns;
+    private final long[][] primitives;
+    private final boolean[][] nulls;
+    private int rowsInBlock;
+    private long rowCount;
+
+    public OraBinWriter(OutputStream output, OraRowCodec codec, int blockRows) throws IOException {
+        this.out = new DataOutputStream(output);
+        this.columnCount = codec.columnCount;
+        this.encodings = new byte[columnCount];
+        this.blockRows = blockRows;
+        this.columns = new Object[columnCount][];
+        this.primitives = new long[columnCount][];
+        this.nulls = new boolean[columnCount][blockRows];
+        writeHeader(codec);
+        for (int i = 0; i < columnCount; i++) {
+            if (isPrimitive(encodings[i])) {
+                primitives[i] = new long[blockRows];
+            } else {
+                columns[i] = new Object[blockRows];
+            }
+        }
+    }
+
+    private void writeHeader(OraRowCodec codec) throws IOException {
+        out.write(MAGIC);
+        out.writeInt(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            encodings[i] = encodingOf(codec.types[i]);
+            writeString(codec.names[i]);
+            out.writeInt(codec.types[i]);
+            out.writeInt(codec.precisions[i]);
+            out.writeInt(codec.scales[i]);
+            out.writeByte(codec.nullable[i] ? 1 : 0);
+            out.writeByte(encodings[i]);
+        }
+    }
+
+    // JDBC 타입별 인코딩 선택
+    static byte encodingOf(int sqlType) {
+        switch (sqlType) {
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return ENC_DECIMAL;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return ENC_LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return ENC_DOUBLE;
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                return ENC_TIMESTAMP;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return ENC_BYTES;
+            default:
+                return ENC_STRING;
+        }
+    }
+
+    private static boolean isPrimitive(byte encoding) {
+        return encoding == ENC_LONG || encoding == ENC_DOUBLE;
+    }
+
+    // 현재 행을 블록 버퍼에 담고, 블록이 차면 기록
+    public void writeRow(OraRows data) throws SQLException, IOException {
+        for (int i = 0; i < columnCount; i++) {
+            switch (encodings[i]) {
+                case ENC_LONG:
+                    primitives[i][rowsInBlock] = data.getLong(i + 1);
+                    nulls[i][rowsInBlock] = data.wasNull();
+                    break;
+                case ENC_DOUBLE:
+                    primitives[i][rowsInBlock] = Double.doubleToLongBits(data.getDouble(i + 1));
+                    nulls[i][rowsInBlock] = data.wasNull();
+                    break;
+                default: {
+                    Object value = readValue(data, i + 1, encodings[i]);
+                    columns[i][rowsInBlock] = value;
+                    nulls[i][rowsInBlock] = value == null;
+                    break;
+                }
+            }
+        }
+        rowsInBlock++;
+        rowCount++;
+        if (rowsInBlock == blockRows) {
+            flushBlock();
+        }
+    }
+
+    private static Object readValue(OraRows data, int index, byte encoding) throws SQLException {
+        switch (encoding) {
+            case ENC_DECIMAL:
+                return data.getBigDecimal(index);
+            case ENC_TIMESTAMP:
+                return data.getTimestamp(index);
+            case ENC_BYTES:
+                return data.getBytes(index);
+            default:
+                return data.getString(index);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (rowsInBlock == 0) {
+            return;
+        }
+        out.writeInt(rowsInBlock);
+        byte[] bitmap = new byte[(rowsInBlock + 7) / 8];
+        for (int c = 0; c < columnCount; c++) {
+            boolean[] isNull = nulls[c];
+
+            // null 비트맵 (1 = null)
+            Arrays.fill(bitmap, (byte) 0);
+            for (int r = 0; r < rowsInBlock; r++) {
+                if (isNull[r]) {
+                    bitmap[r >> 3] |= (byte) (1 << (r & 7));
+                }
+            }
+            out.write(bitmap);
+
+            if (isPrimitive(encodings[c])) {
+                // ENC_DOUBLE 도 같은 8바이트 비트 패턴 (DataOutputStream.writeDouble 과 동일)
+                long[] values = primitives[c];
+                for (int r = 0; r < rowsInBlock; r++) {
+                    if (!isNull[r]) {
+                        out.writeLong(values[r]);
+                    }
+                }
+                continue;
+            }
+            Object[] values = columns[c];
+            for (int r = 0; r < rowsInBlock; r++) {
+                if (!isNull[r]) {
+                    writeValue(values[r], encodings[c]);
+                }
+                values[r] = null;
+            }
+        }
+        rowsInBlock = 0;
+    }
+
+    private void writeValue(Object value, byte encoding) throws IOException {
+        switch (encoding) {
+            case ENC_DECIMAL: {
+                BigDecimal decimal = (BigDecimal) value;
+                byte[] unscaled = decimal.unscaledValue().toByteArray();
+                out.writeShort(decimal.scale());
+                out.writeByte(unscaled.length);
+                out.write(unscaled);
+                break;
+            }
+            case ENC_TIMESTAMP: {
+                // 시간대 변환 없이 벽시계 시각 그대로 저장
+                Timestamp timestamp = (Timestamp) value;
+                out.writeLong(timestamp.toLocalDateTime().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(timestamp.getNanos());
+                break;
+            }
+            case ENC_BYTES: {
+                byte[] bytes = (byte[]) value;
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                break;
+            }
+            default:
+                writeString((String) value);
+                break;
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    // 남은 블록과 종료 표시 기록
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            out.writeInt(0);
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.agadev;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 대량 적재 복원 모드 (restore.mode=bulk)
+//
+// 적재 전: 관련 외래키 DISABLE, 비고유 인덱스 UNUSABLE, DELETE 대신 TRUNCATE
+// 적재 중: INSERT /*+ APPEND_VALUES */ 배치 (direct-path, 배치마다 커밋)
+// 적재 후: 인덱스 REBUILD, 외래키 ENABLE (restore.threads 개 커넥션으로 동시에)
+public class OraBulkLoad {
+
+    static final String APPEND_VALUES = "/*+ APPEND_VALUES */";
+
+    // 적재 전에 끈 외래키 (적재 후 다시 켬)
+    static class ForeignKey {
+        final String tableName;
+        final String constraintName;
+
+        ForeignKey(String tableName, String constraintName) {
+            this.tableName = tableName;
+            this.constraintName = constraintName;
+        }
+    }
+
+    final boolean enabled;
+    final boolean truncate;
+    final boolean append;
+    final boolean disableConstraints;
+    final boolean unusableIndexes;
+    final int batchSize;
+    final int indexParallel;
+    final boolean validate;
+
+    OraBulkLoad(boolean enabled, boolean truncate, boolean append, boolean disableConstraints, boolean unusableIndexes,
+                int batchSize, int indexParallel, boolean validate) {
+        this.enabled = enabled;
+        this.truncate = truncate;
+        this.append = append;
+        this.disableConstraints = disableConstraints;
+        this.unusableIndexes = unusableIndexes;
+        this.batchSize = batchSize;
+        this.indexParallel = indexParallel;
+        this.validate = validate;
+    }
+
+    static OraBulkLoad fromConfig(Properties config) {
+        boolean enabled = "bulk".equals(config.getProperty("restore.mode", "conventional").trim());
+        return new OraBulkLoad(enabled,
+                enabled && flag(config, "restore.bulk.truncate"),
+                enabled && flag(config, "restore.bulk.append"),
+                enabled && flag(config, "restore.bulk.disable.constraints"),
+                enabled && flag(config, "restore.bulk.unusable.indexes"),
+                Integer.parseInt(config.getProperty("restore.bulk.batch.size", "50000").trim()),
+                Integer.parseInt(config.getProperty("restore.bulk.index.parallel", "1").trim()),
+                flag(config, "restore.bulk.validate"));
+    }
+
+    private static boolean flag(Properties config, String key) {
+        return Boolean.parseBoolean(config.getProperty(key, "true").trim());
+    }
+
+    // INSERT 힌트 (direct-path 면 APPEND_VALUES)
+    String insertHint() {
+        return append ? APPEND_VALUES : null;
+    }
+
+    // 복원 대상 테이블이 자식 또는 부모인 켜진 외래키를 모두 끔 (TRUNCATE 와 순서 없는 적재를 위해)
+    static List<ForeignKey> disableForeignKeys(Connection conn, Collection<String> tableNames, String logFileName) throws SQLException {
+        List<ForeignKey> disabled = new ArrayList<>();
+        String query = "SELECT c.table_name, c.constraint_name, p.table_name FROM all_constraints c"
+                + " JOIN all_constraints p ON p.owner = c.r_owner AND p.constraint_name = c.r_constraint_name"
+                + " WHERE c.owner = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') AND c.constraint_type = 'R' AND c.status = 'ENABLED'";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            while (rs.next()) {
+                if (tableNames.contains(rs.getString(1)) || tableNames.contains(rs.getString(3))) {
+                    disabled.add(new ForeignKey(rs.getString(1), rs.getString(2)));
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            for (ForeignKey foreignKey : disabled) {
+                stmt.execute("ALTER TABLE " + foreignKey.tableName + " DISABLE CONSTRAINT " + foreignKey.constraintName);
+                LogUtil.log(logFileName, "Disabled constraint: " + foreignKey.tableName + "." + foreignKey.constraintName);
+            }
+        }
+        return disabled;
+    }
+
+    // 비고유 인덱스를 UNUSABLE 로 (적재 중에는 skip_unusable_indexes 기본값 TRUE 로 건너뜀)
+    // 고유 인덱스는 건너뛸 수 없으므로 유지
+    static List<String> markIndexesUnusable(Connection conn, Collection<String> tableNames, String logFileName) throws SQLException {
+        List<String> indexes = new ArrayList<>();
+        String query = "SELECT index_name FROM all_indexes"
+                + " WHERE table_owner = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') AND table_name = ?"
+                + " AND uniqueness = 'NONUNIQUE' AND status = 'VALID' AND partitioned = 'NO'"
+                + " AND index_type IN ('NORMAL', 'BITMAP', 'FUNCTION-BASED NORMAL')";
+        try (PreparedStatement select = conn.prepareStatement(query);
+             Statement stmt = conn.createStatement()) {
+            for (String tableName : tableNames) {
+                select.setString(1, tableName);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        indexes.add(rs.getString(1));
+                    }
+                }
+            }
+            for (String index : indexes) {
+                stmt.execute("ALTER INDEX " + index + " UNUSABLE");
+                LogUtil.log(logFileName, "Marked index unusable: " + index);
+            }
+        }
+        return indexes;
+    }
+
+    // 테이블 비우기 (TRUNCATE 는 자동 커밋, 외래키가 꺼져 있어야 함)
+    static void truncateTables(Connection conn, Collection<String> tableNames, String logFileName) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String tableName : tableNames) {
+                stmt.execute("TRUNCATE TABLE " + tableName);
+                LogUtil.log(logFileName, "Truncated table: " + tableName);
+            }
+        }
+    }
+
+    // 인덱스 재생성 (인덱스마다 병렬, indexParallel > 1 이면 인덱스 하나도 병렬로 만들고 원래대로 NOPARALLEL)
+    void rebuildIndexes(OraPool pool, int threads, List<String> indexes, String logFileName) throws InterruptedException {
+        List<String> statements = new ArrayList<>();
+        for (String index : indexes) {
+            statements.add(indexParallel > 1
+                    ? "ALTER INDEX " + index + " REBUILD PARALLEL " + indexParallel + ";ALTER INDEX " + index + " NOPARALLEL"
+                    : "ALTER INDEX " + index + " REBUILD");
+        }
+        runInParallel(pool, threads, statements, "Rebuilt index: ", "Error rebuilding index: ", logFileName);
+    }
+
+    // 외래키 다시 켜기 (restore.bulk.validate=false 면 기존 행 검증 생략)
+    void enableForeignKeys(OraPool pool, int threads, List<ForeignKey> foreignKeys, String logFileName) throws InterruptedException {
+        List<String> statements = new ArrayList<>();
+        for (ForeignKey foreignKey : foreignKeys) {
+            statements.add("ALTER TABLE " + foreignKey.tableName + " ENABLE " + (validate ? "VALIDATE" : "NOVALIDATE")
+                    + " CONSTRAINT " + foreignKey.constraintName);
+        }
+        runInParallel(pool, threads, statements, "Enabled constraint: ", "Error enabling constraint: ", logFileName);
+    }
+
+    // DDL 을 커넥션 풀로 동시에 실행 (';' 로 이어진 문장은 같은 커넥션에서 차례로), 실패는 기록만 하고 계속
+    private static void runInParallel(OraPool pool, int threads, List<String> statements, String doneMessage, String errorMessage,
+                                      String logFileName) throws InterruptedException {
+        if (statements.isEmpty()) {
+            return;
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, statements.size())));
+        for (String statement : statements) {
+            workers.submit(() -> {
+                long start = System.nanoTime();
+                Connection conn = null;
+                try {
+                    conn = pool.take();
+                    try (Statement stmt = conn.createStatement()) {
+                        for (String sql : statement.split(";")) {
+                            stmt.execute(sql);
+                        }
+                    }
+                    LogUtil.log(logFileName, String.format("%s%s (%.1f s)", doneMessage, targetOf(statement),
+                            (System.nanoTime() - start) / 1e9));
+                } catch (Exception e) {
+                    LogUtil.log(logFileName, errorMessage + targetOf(statement) + " - " + e.getMessage());
+                } finally {
+                    pool.release(conn);
+                }
+            });
+        }
+        workers.shutdown();
+        while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            // 모든 DDL 이 끝날 때까지 대기
+        }
+    }
+
+    // 로그용 대상 이름 (ALTER INDEX <이름> ... / ALTER TABLE <테이블> ... CONSTRAINT <이름>)
+    private static String targetOf(String statement) {
+        String[] words = statement.split(";")[0].split(" ");
+        return "TABLE".equals(words[1]) ? words[2] + "." + words[words.length - 1] : words[2];
+    }
+}
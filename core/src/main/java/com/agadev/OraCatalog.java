@@ -0,0 +1,221 @@
+package com.agadev;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Properties;
+
+// 백업 대상 계획: all_tables 에서 소유자/테이블 패턴으로 고르고 크기 추정치 순으로 정렬
+//
+//   backup.include.owners   소유자 패턴 (비우면 현재 스키마만), backup.exclude.owners 는 기본으로 오라클 관리 스키마
+//   backup.include.tables   테이블 패턴 (비우면 모두), backup.exclude.tables
+//   패턴은 쉼표로 구분, * 와 ? 와일드카드 (대소문자 구분, 딕셔너리와 같이 보통 대문자)
+//
+// 현재 스키마가 아닌 테이블은 OWNER.TABLE 이름으로 조회하고 파일도 OWNER.TABLE.<확장자> 로 기록
+// 크기는 dba_segments (권한이 없으면 user_segments) 의 테이블 + LOB 세그먼트, 없으면 블록 수나 행 수 x 평균 행 길이
+// backup.dry.run=true (또는 -DdryRun=true) 이면 계획과 예상 소요 시간만 기록하고 끝냄
+public class OraCatalog {
+
+    static final String DEFAULT_EXCLUDED_OWNERS = "SYS,SYSTEM,AUDSYS,CTXSYS,DBSFWUSER,DBSNMP,DVSYS,GSMADMIN_INTERNAL,LBACSYS,MDSYS,"
+            + "OJVMSYS,OLAPSYS,ORDDATA,ORDSYS,OUTLN,REMOTE_SCHEDULER_AGENT,WMSYS,XDB,APEX_*,FLOWS_*";
+
+    // 세그먼트 크기를 읽을 뷰 (앞에서부터 시도)
+    private static final String[] SEGMENT_VIEWS = {
+            "dba_segments",
+            "(SELECT USER owner, segment_name, segment_type, bytes FROM user_segments)"
+    };
+    private static final long BLOCK_SIZE = 8192;
+
+    private final List<String> includeOwners;
+    private final List<String> excludeOwners;
+    private final List<String> includeTables;
+    private final List<String> excludeTables;
+    private final boolean dryRun;
+    private final double megabytesPerSecond;
+
+    OraCatalog(List<String> includeOwners, List<String> excludeOwners, List<String> includeTables, List<String> excludeTables,
+               boolean dryRun, double megabytesPerSecond) {
+        this.includeOwners = includeOwners;
+        this.excludeOwners = excludeOwners;
+        this.includeTables = includeTables;
+        this.excludeTables = excludeTables;
+        this.dryRun = dryRun;
+        this.megabytesPerSecond = megabytesPerSecond;
+    }
+
+    static OraCatalog fromConfig(Properties config) {
+        return new OraCatalog(
+                patterns(config.getProperty("backup.include.owners", "")),
+                patterns(config.getProperty("backup.exclude.owners", DEFAULT_EXCLUDED_OWNERS)),
+                patterns(config.getProperty("backup.include.tables", "")),
+                patterns(config.getProperty("backup.exclude.tables", "")),
+                Boolean.parseBoolean(System.getProperty("dryRun", config.getProperty("backup.dry.run", "false")).trim()),
+                Double.parseDouble(config.getProperty("backup.estimate.mb.per.second", "20").trim()));
+    }
+
+    private static List<String> patterns(String value) {
+        List<String> patterns = new ArrayList<>();
+        for (String pattern : value.split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                patterns.add(pattern.trim());
+            }
+        }
+        return patterns;
+    }
+
+    boolean isDryRun() {
+        return dryRun;
+    }
+
+    // OWNER.TABLE 이면 OWNER, 현재 스키마 테이블이면 null (딕셔너리 조회 시 NVL(?, CURRENT_SCHEMA))
+    static String ownerOf(String tableName) {
+        int dot = tableName.indexOf('.');
+        return dot < 0 ? null : tableName.substring(0, dot);
+    }
+
+    static String bareName(String tableName) {
+        return tableName.substring(tableName.indexOf('.') + 1);
+    }
+
+    // 대상 테이블 (추정 크기가 큰 것부터)
+    List<OraBackupJob.TableInfo> listTables(Connection conn, String logFileName) throws SQLException {
+        String currentSchema;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') FROM DUAL")) {
+            rs.next();
+            currentSchema = rs.getString(1);
+        }
+
+        List<OraBackupJob.TableInfo> tables = null;
+        for (String view : SEGMENT_VIEWS) {
+            try {
+                tables = query(conn, view, currentSchema);
+                LogUtil.log(logFileName, "Table sizes estimated from " + (view.startsWith("(") ? "user_segments" : view));
+                break;
+            } catch (SQLException e) {
+                LogUtil.debug(logFileName, "Cannot read segment sizes from " + view + " - " + e.getMessage());
+            }
+        }
+        if (tables == null) {
+            LogUtil.log(logFileName, "Table sizes estimated from all_tables statistics (no access to dba_segments or user_segments)");
+            tables = query(conn, null, currentSchema);
+        }
+
+        Collections.sort(tables, (a, b) -> a.bytes != b.bytes ? Long.compare(b.bytes, a.bytes)
+                : a.numRows != b.numRows ? Long.compare(b.numRows, a.numRows) : a.name.compareTo(b.name));
+        return tables;
+    }
+
+    private List<OraBackupJob.TableInfo> query(Connection conn, String segmentView, String currentSchema) throws SQLException {
+        StringBuilder query = new StringBuilder("SELECT t.owner, t.table_name, NVL(t.num_rows, 0), NVL(t.blocks, 0), NVL(t.avg_row_len, 0)");
+        if (segmentView != null) {
+            query.append(", NVL(s.bytes, 0) + NVL(l.bytes, 0)");
+        }
+        query.append(" FROM all_tables t");
+        if (segmentView != null) {
+            query.append(" LEFT JOIN (SELECT owner, segment_name, SUM(bytes) bytes FROM ").append(segmentView)
+                    .append(" WHERE segment_type LIKE 'TABLE%' GROUP BY owner, segment_name) s")
+                    .append(" ON s.owner = t.owner AND s.segment_name = t.table_name");
+            query.append(" LEFT JOIN (SELECT lb.owner, lb.table_name, SUM(sg.bytes) bytes FROM all_lobs lb JOIN ").append(segmentView)
+                    .append(" sg ON sg.owner = lb.owner AND sg.segment_name = lb.segment_name GROUP BY lb.owner, lb.table_name) l")
+                    .append(" ON l.owner = t.owner AND l.table_name = t.table_name");
+        }
+        // 임시 테이블, 중첩 테이블, 도메인 인덱스용 테이블, IOT overflow 는 따로 백업하지 않음
+        query.append(" WHERE t.temporary = 'N' AND t.nested = 'NO' AND t.secondary = 'N' AND (t.iot_type IS NULL OR t.iot_type = 'IOT')");
+
+        List<String> binds = new ArrayList<>();
+        if (includeOwners.isEmpty()) {
+            query.append(" AND t.owner = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')");
+        } else {
+            appendLike(query, binds, "t.owner", includeOwners, false);
+        }
+        appendLike(query, binds, "t.owner", excludeOwners, true);
+        appendLike(query, binds, "t.table_name", includeTables, false);
+        appendLike(query, binds, "t.table_name", excludeTables, true);
+
+        List<OraBackupJob.TableInfo> tables = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+            for (int i = 0; i < binds.size(); i++) {
+                stmt.setString(i + 1, binds.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String owner = rs.getString(1);
+                    String tableName = rs.getString(2);
+                    long numRows = rs.getLong(3);
+                    long blocks = rs.getLong(4);
+                    long avgRowLen = rs.getLong(5);
+                    long bytes = segmentView != null ? rs.getLong(6) : 0;
+                    if (bytes == 0) {
+                        bytes = blocks > 0 ? blocks * BLOCK_SIZE : numRows * avgRowLen;
+                    }
+                    String name = owner.equals(currentSchema) ? tableName : owner + "." + tableName;
+                    tables.add(new OraBackupJob.TableInfo(name, owner, numRows, blocks, avgRowLen, bytes));
+                }
+            }
+        }
+        return tables;
+    }
+
+    // (col LIKE ? OR ...) 또는 NOT (...), * -> %, ? -> _ (원래 % _ 는 그대로 비교)
+    private static void appendLike(StringBuilder query, List<String> binds, String column, List<String> patterns, boolean exclude) {
+        if (patterns.isEmpty()) {
+            return;
+        }
+        query.append(exclude ? " AND NOT (" : " AND (");
+        for (int i = 0; i < patterns.size(); i++) {
+            query.append(i > 0 ? " OR " : "").append(column).append(" LIKE ? ESCAPE '\\'");
+            binds.add(patterns.get(i).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_")
+                    .replace('*', '%').replace('?', '_'));
+        }
+        query.append(")");
+    }
+
+    // 계획 기록: 테이블별 추정 크기/조각 수, 작업 스레드에 큰 것부터 나눠 준 예상 소요 시간
+    void logPlan(List<OraBackupJob.TableInfo> tables, int threads, int chunkCount, long chunkThreshold, String logFileName) {
+        int workers = Math.max(1, threads);
+        double bytesPerSecond = megabytesPerSecond * 1048576;
+        List<Long> pieces = new ArrayList<>();
+        long totalRows = 0;
+        long totalBytes = 0;
+        LogUtil.log(logFileName, "Backup plan: " + tables.size() + " tables, " + workers + " worker(s), "
+                + megabytesPerSecond + " MB/s per worker (backup.estimate.mb.per.second)");
+        for (OraBackupJob.TableInfo table : tables) {
+            int chunks = chunkCount > 1 && table.numRows >= chunkThreshold ? chunkCount : 1;
+            for (int i = 0; i < chunks; i++) {
+                pieces.add(table.bytes / chunks);
+            }
+            totalRows += table.numRows;
+            totalBytes += table.bytes;
+            LogUtil.log(logFileName, String.format("  %-40s %12d rows %10.1f MB %3d chunk(s) ~%s", table.name, table.numRows,
+                    table.bytes / 1048576.0, chunks, duration((long) (table.bytes / bytesPerSecond / chunks))));
+        }
+
+        // 큰 조각부터 가장 한가한 작업 스레드에 배정 (LPT), 가장 늦게 끝나는 스레드가 예상 소요 시간
+        Collections.sort(pieces, Collections.reverseOrder());
+        PriorityQueue<Long> loads = new PriorityQueue<>(Collections.nCopies(workers, 0L));
+        for (long piece : pieces) {
+            loads.add(loads.poll() + piece);
+        }
+        long makespan = Collections.max(loads);
+        LogUtil.log(logFileName, String.format("Backup plan total: %d rows, %.1f MB, estimated duration %s (%s with one worker)",
+                totalRows, totalBytes / 1048576.0, duration((long) (makespan / bytesPerSecond)),
+                duration((long) (totalBytes / bytesPerSecond))));
+    }
+
+    private static String duration(long seconds) {
+        return String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60);
+    }
+
+    String describe() {
+        return "owners " + (includeOwners.isEmpty() ? "[current schema]" : includeOwners) + " excluding "
+                + (excludeOwners.equals(patterns(DEFAULT_EXCLUDED_OWNERS)) ? "[Oracle-maintained schemas]" : excludeOwners)
+                + ", tables " + (includeTables.isEmpty() ? "[all]" : includeTables) + " excluding " + excludeTables;
+    }
+}
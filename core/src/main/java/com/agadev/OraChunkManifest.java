@@ -0,0 +1,72 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+// 조각으로 나눠 백업한 테이블의 조각 파일 목록 (<테이블명>.<확장자>.manifest)
+public class OraChunkManifest {
+
+    static final String SUFFIX = ".manifest";
+
+    // <테이블명>.<확장자>.partNNNN
+    static String partFileName(String tableName, String extension, int index) {
+        return tableName + "." + extension + String.format(".part%04d", index);
+    }
+
+    static File manifestFile(File dir, String tableName, String extension) {
+        return new File(dir, tableName + "." + extension + SUFFIX);
+    }
+
+    // 조각이 모두 끝난 뒤에만 기록 (manifest 가 있으면 모든 조각 파일이 완성된 상태)
+    // scn: 모든 조각을 읽은 스냅샷 SCN (스냅샷 백업이 아니면 null)
+    static void write(File manifestFile, String tableName, List<OraChunkPlanner.Chunk> chunks, List<String> partFiles, long[] rowCounts,
+                      String scn) throws IOException {
+        Properties manifest = new Properties();
+        manifest.setProperty("table", tableName);
+        if (scn != null) {
+            manifest.setProperty("scn", scn);
+        }
+        manifest.setProperty("method", chunks.get(0).method);
+        manifest.setProperty("chunks", String.valueOf(chunks.size()));
+        for (int i = 0; i < chunks.size(); i++) {
+            String prefix = "chunk." + (i + 1) + ".";
+            manifest.setProperty(prefix + "file", partFiles.get(i));
+            manifest.setProperty(prefix + "rows", String.valueOf(rowCounts[i]));
+            manifest.setProperty(prefix + "range", chunks.get(i).describe());
+        }
+        try (OutputStream output = new FileOutputStream(manifestFile)) {
+            manifest.store(output, "chunked backup of " + tableName);
+        }
+    }
+
+    // manifest 에 적힌 순서대로 조각 파일 목록 반환
+    static List<File> partFiles(File manifestFile) throws IOException {
+        Properties manifest = new Properties();
+        try (InputStream input = new FileInputStream(manifestFile)) {
+            manifest.load(input);
+        }
+        int chunkCount = Integer.parseInt(manifest.getProperty("chunks", "0"));
+        List<File> files = new ArrayList<>();
+        for (int i = 1; i <= chunkCount; i++) {
+            File part = new File(manifestFile.getParentFile(), manifest.getProperty("chunk." + i + ".file"));
+            if (!part.exists()) {
+                throw new IOException("Missing chunk file listed in " + manifestFile.getName() + ": " + part.getName());
+            }
+            files.add(part);
+        }
+        return files;
+    }
+
+    // manifest 파일명에서 테이블명 추출
+    static String tableNameOf(File manifestFile, String extension) {
+        String name = manifestFile.getName();
+        return name.substring(0, name.length() - ("." + extension + SUFFIX).length()).toUpperCase();
+    }
+}
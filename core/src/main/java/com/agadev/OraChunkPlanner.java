@@ -0,0 +1,204 @@
+package com.agadev;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// 큰 테이블을 동시에 추출할 수 있는 조각(파티션, ROWID 범위, PK 범위)으로 나눔
+public class OraChunkPlanner {
+
+    // 테이블의 한 조각 (PARTITION 절 또는 WHERE 조건)
+    public static class Chunk {
+        final String method;
+        final String partition;
+        final String filter;
+
+        Chunk(String method, String partition, String filter) {
+            this.method = method;
+            this.partition = partition;
+            this.filter = filter;
+        }
+
+        // 조각을 읽는 SELECT 문
+        // asOf: 스냅샷 조회 시점 (" AS OF SCN n", 없으면 빈 문자열)
+        String selectQuery(String tableName, String asOf) {
+            StringBuilder query = new StringBuilder("SELECT * FROM ").append(tableName);
+            if (partition != null) {
+                query.append(" PARTITION (").append(partition).append(")");
+            }
+            query.append(asOf);
+            if (filter != null) {
+                query.append(" WHERE ").append(filter);
+            }
+            return query.toString();
+        }
+
+        String describe() {
+            if (partition != null) {
+                return "PARTITION " + partition;
+            }
+            return filter != null ? filter : "ALL ROWS";
+        }
+    }
+
+    // method: auto, partition, rowid, pk (auto 는 순서대로 시도)
+    static List<Chunk> plan(Connection conn, String tableName, String method, int chunkCount, String logFileName) {
+        if (chunkCount > 1) {
+            if ("auto".equals(method) || "partition".equals(method)) {
+                List<Chunk> chunks = tryPlan(conn, tableName, "partition", chunkCount, logFileName);
+                if (chunks.size() > 1 || "partition".equals(method)) {
+                    return chunks;
+                }
+            }
+            if ("auto".equals(method) || "rowid".equals(method)) {
+                List<Chunk> chunks = tryPlan(conn, tableName, "rowid", chunkCount, logFileName);
+                if (chunks.size() > 1 || "rowid".equals(method)) {
+                    return chunks;
+                }
+            }
+            if ("auto".equals(method) || "pk".equals(method)) {
+                return tryPlan(conn, tableName, "pk", chunkCount, logFileName);
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    private static List<Chunk> tryPlan(Connection conn, String tableName, String method, int chunkCount, String logFileName) {
+        try {
+            switch (method) {
+                case "partition":
+                    return planByPartition(conn, tableName);
+                case "rowid":
+                    return planByRowid(conn, tableName, chunkCount);
+                default:
+                    return planByPrimaryKey(conn, tableName, chunkCount);
+            }
+        } catch (SQLException e) {
+            // 권한 부족(dba_extents 등)이나 조건 불충족 시 다음 방식으로 넘어감
+            LogUtil.log(logFileName, "Chunk planning by " + method + " not available for table: " + tableName + " - " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // all_tab_partitions 의 파티션 하나가 한 조각
+    private static List<Chunk> planByPartition(Connection conn, String tableName) throws SQLException {
+        List<Chunk> chunks = new ArrayList<>();
+        String query = "SELECT partition_name FROM all_tab_partitions"
+                + " WHERE table_owner = NVL(?, SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')) AND table_name = ?"
+                + " ORDER BY partition_position";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, OraCatalog.ownerOf(tableName));
+            stmt.setString(2, OraCatalog.bareName(tableName));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    chunks.add(new Chunk("partition", rs.getString(1), null));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    // DBMS_PARALLEL_EXECUTE 와 같은 방식: 익스텐트를 블록 수 기준으로 묶어 ROWID 범위 생성
+    private static List<Chunk> planByRowid(Connection conn, String tableName, int chunkCount) throws SQLException {
+        List<Chunk> chunks = new ArrayList<>();
+        String query = "SELECT DBMS_ROWID.ROWID_CREATE(1, o.data_object_id, g.lo_fno, g.lo_block, 0),"
+                + " DBMS_ROWID.ROWID_CREATE(1, o.data_object_id, g.hi_fno, g.hi_block, 32767)"
+                + " FROM (SELECT grp,"
+                + "   MIN(relative_fno) KEEP (DENSE_RANK FIRST ORDER BY relative_fno, block_id) lo_fno,"
+                + "   MIN(block_id) KEEP (DENSE_RANK FIRST ORDER BY relative_fno, block_id) lo_block,"
+                + "   MAX(relative_fno) KEEP (DENSE_RANK LAST ORDER BY relative_fno, block_id) hi_fno,"
+                + "   MAX(block_id + blocks - 1) KEEP (DENSE_RANK LAST ORDER BY relative_fno, block_id) hi_block"
+                + "   FROM (SELECT relative_fno, block_id, blocks,"
+                + "     TRUNC((SUM(blocks) OVER (ORDER BY relative_fno, block_id) - 0.01)"
+                + "       / (SUM(blocks) OVER () / ?)) grp"
+                + "     FROM dba_extents"
+                + "     WHERE owner = NVL(?, SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')) AND segment_name = ?"
+                + "       AND segment_type = 'TABLE')"
+                + "   GROUP BY grp) g,"
+                + " (SELECT data_object_id FROM all_objects"
+                + "   WHERE owner = NVL(?, SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')) AND object_name = ?"
+                + "     AND object_type = 'TABLE' AND subobject_name IS NULL) o"
+                + " ORDER BY g.grp";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, chunkCount);
+            stmt.setString(2, OraCatalog.ownerOf(tableName));
+            stmt.setString(3, OraCatalog.bareName(tableName));
+            stmt.setString(4, OraCatalog.ownerOf(tableName));
+            stmt.setString(5, OraCatalog.bareName(tableName));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    chunks.add(new Chunk("rowid", null, "ROWID BETWEEN '" + rs.getString(1) + "' AND '" + rs.getString(2) + "'"));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    // 숫자형 단일 컬럼 PK 의 MIN~MAX 를 균등하게 나눔
+    private static List<Chunk> planByPrimaryKey(Connection conn, String tableName, int chunkCount) throws SQLException {
+        List<Chunk> chunks = new ArrayList<>();
+        String query = "SELECT MAX(cc.column_name), COUNT(*), MAX(tc.data_type)"
+                + " FROM all_constraints c"
+                + " JOIN all_cons_columns cc ON cc.owner = c.owner AND cc.constraint_name = c.constraint_name"
+                + " JOIN all_tab_columns tc ON tc.owner = cc.owner AND tc.table_name = cc.table_name AND tc.column_name = cc.column_name"
+                + " WHERE c.owner = NVL(?, SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')) AND c.table_name = ? AND c.constraint_type = 'P'";
+        String pkColumn;
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, OraCatalog.ownerOf(tableName));
+            stmt.setString(2, OraCatalog.bareName(tableName));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(2) != 1 || !"NUMBER".equals(rs.getString(3))) {
+                    throw new SQLException("no single-column NUMBER primary key");
+                }
+                pkColumn = rs.getString(1);
+            }
+        }
+
+        BigDecimal min;
+        BigDecimal max;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(" + pkColumn + "), MAX(" + pkColumn + ") FROM " + tableName)) {
+            if (!rs.next() || rs.getBigDecimal(1) == null) {
+                return chunks;
+            }
+            min = rs.getBigDecimal(1);
+            max = rs.getBigDecimal(2);
+        }
+
+        // 경계값: 첫 조각은 하한 없이, 마지막 조각은 상한 없이
+        BigDecimal step = max.subtract(min).divide(BigDecimal.valueOf(chunkCount), 0, RoundingMode.CEILING);
+        if (step.signum() <= 0) {
+            chunks.add(new Chunk("pk", null, null));
+            return chunks;
+        }
+        BigDecimal lower = null;
+        for (int i = 1; i <= chunkCount; i++) {
+            BigDecimal upper = i < chunkCount ? min.add(step.multiply(BigDecimal.valueOf(i))) : null;
+            if (upper != null && upper.compareTo(max) > 0) {
+                upper = null;
+            }
+            String filter;
+            if (lower == null && upper == null) {
+                filter = null;
+            } else if (lower == null) {
+                filter = pkColumn + " < " + upper.toPlainString();
+            } else if (upper == null) {
+                filter = pkColumn + " >= " + lower.toPlainString();
+            } else {
+                filter = pkColumn + " >= " + lower.toPlainString() + " AND " + pkColumn + " < " + upper.toPlainString();
+            }
+            chunks.add(new Chunk("pk", null, filter));
+            if (upper == null) {
+                break;
+            }
+            lower = upper;
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,233 @@
+package com.agadev;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// 백업 파일 압축 (none, gzip, lz4, zstd)
+// lz4 는 lz4-java, zstd 는 zstd-jni 가 클래스패스에 있을 때만 사용 가능
+// compression.level: gzip 0~9, zstd 1~22 (기본 3), lz4 는 1~17 이면 LZ4 HC (느리지만 더 작게), -1/0 이면 기본 fast 압축
+public class OraCompression {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final String[] SUFFIXES = { ".gz", ".lz4", ".zst" };
+
+    // 코덱별 파일 확장자
+    static String suffixOf(String codec) {
+        switch (codec) {
+            case "gzip":
+                return ".gz";
+            case "lz4":
+                return ".lz4";
+            case "zstd":
+                return ".zst";
+            case "none":
+                return "";
+            default:
+                throw new IllegalArgumentException("Unknown compression codec: " + codec);
+        }
+    }
+
+    // 압축 확장자를 뗀 파일명 (EMPLOYEES.txt.gz -> EMPLOYEES.txt)
+    static String baseName(String fileName) {
+        for (String suffix : SUFFIXES) {
+            if (fileName.endsWith(suffix)) {
+                return fileName.substring(0, fileName.length() - suffix.length());
+            }
+        }
+        return fileName;
+    }
+
+    // 다른 코덱으로 남아 있는 같은 백업 파일 제거 (keepSuffix 가 null 이면 모두 제거)
+    static void deleteVariants(File dir, String baseName, String keepSuffix) {
+        if (!"".equals(keepSuffix)) {
+            new File(dir, baseName).delete();
+        }
+        for (String suffix : SUFFIXES) {
+            if (!suffix.equals(keepSuffix)) {
+                new File(dir, baseName + suffix).delete();
+            }
+        }
+    }
+
+    // 압축 출력 스트림 (async 이면 압축을 별도 스레드에서 수행)
+    static OutputStream openOutput(File file, String codec, int level, boolean async) throws IOException {
+        OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+        if ("none".equals(codec)) {
+            return fileOutput;
+        }
+        OutputStream compressed;
+        try {
+            compressed = wrapOutput(fileOutput, codec, level);
+        } catch (IOException | RuntimeException e) {
+            fileOutput.close();
+            throw e;
+        }
+        return async ? new AsyncOutputStream(compressed, file.getName()) : new BufferedOutputStream(compressed, BUFFER_SIZE);
+    }
+
+    // 파이프라인 추출용: 압축은 호출 스레드(인코딩 풀)에서, 파일 기록은 전용 기록 스레드에서
+    static OutputStream openPipelineOutput(File file, String codec, int level, int writeQueue) throws IOException {
+        OutputStream fileOutput = new AsyncOutputStream(new FileOutputStream(file), "oraback-write-" + file.getName(), writeQueue);
+        if ("none".equals(codec)) {
+            return fileOutput;
+        }
+        try {
+            return new BufferedOutputStream(wrapOutput(fileOutput, codec, level), BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            fileOutput.close();
+            throw e;
+        }
+    }
+
+    private static OutputStream wrapOutput(OutputStream output, String codec, int level) throws IOException {
+        switch (codec) {
+            case "gzip":
+                return new GZIPOutputStream(output, BUFFER_SIZE) {
+                    {
+                        if (level >= 0) {
+                            def.setLevel(Math.min(level, 9));
+                        }
+                    }
+                };
+            case "lz4":
+                if (level > 0) {
+                    return lz4HighOutput(output, level);
+                }
+                return (OutputStream) newInstance("net.jpountz.lz4.LZ4FrameOutputStream",
+                        new Class<?>[] { OutputStream.class }, new Object[] { output });
+            case "zstd":
+                return (OutputStream) newInstance("com.github.luben.zstd.ZstdOutputStream",
+                        new Class<?>[] { OutputStream.class, int.class }, new Object[] { output, level >= 0 ? level : 3 });
+            default:
+                throw new IllegalArgumentException("Unknown compression codec: " + codec);
+        }
+    }
+
+    // LZ4 HC 압축기로 쓰는 lz4 프레임 (17 보다 큰 레벨은 17), 블록 크기와 플래그는 기본 생성자와 같아 복원 쪽은 그대로
+    private static OutputStream lz4HighOutput(OutputStream output, int level) throws IOException {
+        Object compressor;
+        Object checksum;
+        Class<?> compressorType;
+        Class<?> checksumType;
+        Class<?> blockSize;
+        Class<?> bits;
+        try {
+            Class<?> lz4Factory = Class.forName("net.jpountz.lz4.LZ4Factory");
+            compressor = lz4Factory.getMethod("highCompressor", int.class).invoke(lz4Factory.getMethod("fastestInstance").invoke(null), level);
+            Class<?> hashFactory = Class.forName("net.jpountz.xxhash.XXHashFactory");
+            checksum = hashFactory.getMethod("hash32").invoke(hashFactory.getMethod("fastestInstance").invoke(null));
+            compressorType = Class.forName("net.jpountz.lz4.LZ4Compressor");
+            checksumType = Class.forName("net.jpountz.xxhash.XXHash32");
+            blockSize = Class.forName("net.jpountz.lz4.LZ4FrameOutputStream$BLOCKSIZE");
+            bits = Class.forName("net.jpountz.lz4.LZ4FrameOutputStream$FLG$Bits");
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Compression library not on classpath: " + e.getMessage(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Failed to create LZ4 HC compressor", e);
+        }
+        Object features = Array.newInstance(bits, 1);
+        Array.set(features, 0, enumValue(bits, "BLOCK_INDEPENDENCE"));
+        return (OutputStream) newInstance("net.jpountz.lz4.LZ4FrameOutputStream",
+                new Class<?>[] { OutputStream.class, blockSize, long.class, compressorType, checksumType, features.getClass() },
+                new Object[] { output, enumValue(blockSize, "SIZE_4MB"), -1L, compressor, checksum, features });
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object enumValue(Class<?> type, String name) {
+        return Enum.valueOf((Class) type, name);
+    }
+
+    // 확장자, 없으면 파일 헤더(매직 넘버)로 코덱을 판단해 압축 해제 스트림 반환
+    static InputStream openInput(File file) throws IOException {
+        InputStream input = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        try {
+            String codec = codecOf(file.getName(), input);
+            switch (codec) {
+                case "gzip":
+                    return new BufferedInputStream(new GZIPInputStream(input, BUFFER_SIZE), BUFFER_SIZE);
+                case "lz4":
+                    return new BufferedInputStream((InputStream) newInstance("net.jpountz.lz4.LZ4FrameInputStream",
+                            new Class<?>[] { InputStream.class }, new Object[] { input }), BUFFER_SIZE);
+                case "zstd":
+                    return new BufferedInputStream((InputStream) newInstance("com.github.luben.zstd.ZstdInputStream",
+                            new Class<?>[] { InputStream.class }, new Object[] { input }), BUFFER_SIZE);
+                default:
+                    return input;
+            }
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    // 확장자나 매직 넘버로 압축 파일인지 판단
+    static boolean isCompressed(File file) throws IOException {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file), 16)) {
+            return !"none".equals(codecOf(file.getName(), input));
+        }
+    }
+
+    private static String codecOf(String fileName, InputStream input) throws IOException {
+        if (fileName.endsWith(".gz")) {
+            return "gzip";
+        }
+        if (fileName.endsWith(".lz4")) {
+            return "lz4";
+        }
+        if (fileName.endsWith(".zst")) {
+            return "zstd";
+        }
+
+        // 매직 넘버 확인
+        input.mark(4);
+        byte[] header = new byte[4];
+        int read = 0;
+        while (read < header.length) {
+            int n = input.read(header, read, header.length - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        input.reset();
+        if (read >= 2 && (header[0] & 0xff) == 0x1f && (header[1] & 0xff) == 0x8b) {
+            return "gzip";
+        }
+        if (read == 4 && (header[0] & 0xff) == 0x04 && (header[1] & 0xff) == 0x22
+                && (header[2] & 0xff) == 0x4d && (header[3] & 0xff) == 0x18) {
+            return "lz4";
+        }
+        if (read == 4 && (header[0] & 0xff) == 0x28 && (header[1] & 0xff) == 0xb5
+                && (header[2] & 0xff) == 0x2f && (header[3] & 0xff) == 0xfd) {
+            return "zstd";
+        }
+        return "none";
+    }
+
+    private static Object newInstance(String className, Class<?>[] parameterTypes, Object[] arguments) throws IOException {
+        try {
+            return Class.forName(className).getConstructor(parameterTypes).newInstance(arguments);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Compression library not on classpath: " + className, e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to create " + className, cause);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Failed to create " + className, e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.agadev;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 구분자 텍스트 포맷(.csv / .tsv) 읽기 (OraCsvWriter 가 쓴 파일, 또는 같은 규칙의 RFC 4180 파일)
+// 버퍼의 바이트를 한 번만 훑어 필드를 나눔 (정규식, 줄 단위 String, substring 없음)
+// 따옴표 없는 빈 칸은 NULL, "" 는 빈 문자열, 값은 문자열 (타입 변환은 INSERT 바인딩 시)
+public class OraCsvReader implements OraRowSource {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream input;
+    private final byte delimiter;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    // 따옴표 안 값이나 버퍼 경계에 걸친 값을 모으는 곳
+    private byte[] field = new byte[256];
+    private int fieldLength;
+
+    private final String[] names;
+    private final List<String> values = new ArrayList<>();
+    private long recordNumber;
+
+    public OraCsvReader(InputStream input, char delimiter) throws IOException {
+        if (delimiter > 0x7f) {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character: " + delimiter);
+        }
+        this.input = input;
+        this.delimiter = (byte) delimiter;
+        try {
+            if (!readRecord()) {
+                throw new IOException("Missing header row");
+            }
+            names = values.toArray(new String[0]);
+            for (String name : names) {
+                if (name == null || name.isEmpty()) {
+                    throw new IOException("Empty column name in header row");
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<String, Object> next() throws IOException {
+        while (readRecord()) {
+            // 빈 줄은 건너뜀
+            if (values.size() == 1 && values.get(0) == null && names.length > 1) {
+                continue;
+            }
+            if (values.size() > names.length) {
+                throw new IOException("Record " + recordNumber + " has " + values.size() + " fields, header has " + names.length);
+            }
+            // 모자란 뒤쪽 필드는 NULL
+            Map<String, Object> row = new HashMap<>(names.length * 4 / 3 + 1);
+            for (int i = 0; i < names.length; i++) {
+                row.put(names[i], i < values.size() ? values.get(i) : null);
+            }
+            return row;
+        }
+        return null;
+    }
+
+    // 레코드 하나를 values 에 읽음 (파일 끝이면 false)
+    private boolean readRecord() throws IOException {
+        values.clear();
+        if (!ensure()) {
+            return false;
+        }
+        recordNumber++;
+        while (true) {
+            int end = readField();
+            if (end != delimiter) {
+                // 줄 끝 (\n, \r\n, \r) 또는 파일 끝
+                if (end == '\r' && ensure() && buffer[position] == '\n') {
+                    position++;
+                }
+                return true;
+            }
+        }
+    }
+
+    // 필드 하나를 읽어 values 에 추가, 필드를 끝낸 문자 반환 (구분자, \r, \n, 파일 끝이면 -1)
+    private int readField() throws IOException {
+        if (!ensure()) {
+            values.add(null);
+            return -1;
+        }
+        if (buffer[position] == '"') {
+            position++;
+            return readQuotedField();
+        }
+
+        // 따옴표 없는 필드: 버퍼 안에서 끝나면 복사 없이 바로 문자열로
+        int start = position;
+        while (position < limit) {
+            byte b = buffer[position];
+            if (b == delimiter || b == '\n' || b == '\r') {
+                values.add(position == start ? null : new String(buffer, start, position - start, StandardCharsets.UTF_8));
+                position++;
+                return b;
+            }
+            position++;
+        }
+        fieldLength = 0;
+        append(buffer, start, limit - start);
+        while (ensure()) {
+            byte b = buffer[position++];
+            if (b == delimiter || b == '\n' || b == '\r') {
+                values.add(new String(field, 0, fieldLength, StandardCharsets.UTF_8));
+                return b;
+            }
+            appendByte(b);
+        }
+        values.add(new String(field, 0, fieldLength, StandardCharsets.UTF_8));
+        return -1;
+    }
+
+    // 따옴표 필드: "" 는 " 하나, 닫는 따옴표 뒤 구분자나 줄 끝까지 (그 사이 글자는 값에 붙임)
+    private int readQuotedField() throws IOException {
+        fieldLength = 0;
+        boolean quoted = true;
+        while (ensure()) {
+            int start = position;
+            if (quoted) {
+                while (position < limit && buffer[position] != '"') {
+                    position++;
+                }
+                append(buffer, start, position - start);
+                if (position == limit) {
+                    continue;
+                }
+                position++;
+                if (ensure() && buffer[position] == '"') {
+                    appendByte((byte) '"');
+                    position++;
+                } else {
+                    quoted = false;
+                }
+            } else {
+                byte b = buffer[position++];
+                if (b == delimiter || b == '\n' || b == '\r') {
+                    values.add(new String(field, 0, fieldLength, StandardCharsets.UTF_8));
+                    return b;
+                }
+                appendByte(b);
+            }
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field in record " + recordNumber);
+        }
+        values.add(new String(field, 0, fieldLength, StandardCharsets.UTF_8));
+        return -1;
+    }
+
+    private void append(byte[] bytes, int offset, int length) {
+        if (fieldLength + length > field.length) {
+            byte[] grown = new byte[Math.max(field.length * 2, fieldLength + length)];
+            System.arraycopy(field, 0, grown, 0, fieldLength);
+            field = grown;
+        }
+        System.arraycopy(bytes, offset, field, fieldLength, length);
+        fieldLength += length;
+    }
+
+    private void appendByte(byte b) {
+        if (fieldLength == field.length) {
+            byte[] grown = new byte[field.length * 2];
+            System.arraycopy(field, 0, grown, 0, fieldLength);
+            field = grown;
+        }
+        field[fieldLength++] = b;
+    }
+
+    // 읽을 바이트가 있으면 true (버퍼가 비면 채움)
+    private boolean ensure() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        int n;
+        do {
+            n = input.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,280 @@
+package com.agadev;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Properties;
+
+// 구분자 텍스트 포맷(.csv / .tsv) 기록
+//
+//   첫 줄은 헤더 (조회 결과 컬럼 순서), 한 줄에 한 행, 줄 끝은 \n
+//   구분자, 따옴표, 줄바꿈이 있거나 앞뒤 공백이 있는 값은 큰따옴표로 감싸고 안의 " 는 "" 로 (RFC 4180)
+//   NULL 은 빈 칸, 빈 문자열은 "" (복원 시 구분)
+//   숫자는 toPlainString, 날짜/시각은 yyyy-mm-dd hh:mm:ss.f, BLOB/RAW/LONG RAW 는 Base64
+//   (OraRowCodec.Kind.BLOB/BINARY, txt/json writer 도 같은 kind 로 Base64 기록)
+//
+// 데이터 파일마다 SQL*Loader 제어 파일(<데이터 파일>.ctl)을 같이 씀 (writeControlFile)
+public class OraCsvWriter implements AutoCloseable {
+
+    // 제어 파일의 CLOB / BLOB 필드 길이 (SQL*Loader CHAR(n) 은 바이트 단위)
+    private static final long MAX_FIELD_BYTES = 10485760;
+
+    private final Writer writer;
+    private final OraRowCodec codec;
+    private final char delimiter;
+    private long rowCount;
+
+    public OraCsvWriter(OutputStream output, OraRowCodec codec, char delimiter) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 1 << 16);
+        this.codec = codec;
+        this.delimiter = delimiter;
+        for (int i = 0; i < codec.columnCount; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writeText(codec.names[i]);
+        }
+        writer.write('\n');
+    }
+
+    // csv.delimiter: comma (기본), tab, 또는 한 글자
+    static char delimiterOf(Properties config) {
+        String value = config.getProperty("csv.delimiter", "comma").trim();
+        switch (value.toLowerCase()) {
+            case "comma":
+                return ',';
+            case "tab":
+                return '\t';
+            default:
+                if (value.length() != 1 || value.charAt(0) == '"' || value.charAt(0) == '\n' || value.charAt(0) == '\r') {
+                    throw new IllegalArgumentException("Invalid csv.delimiter: " + value);
+                }
+                return value.charAt(0);
+        }
+    }
+
+    // 탭이면 .tsv, 그 외는 .csv
+    static String extensionOf(char delimiter) {
+        return delimiter == '\t' ? "tsv" : "csv";
+    }
+
+    public void writeRow(OraRows data) throws SQLException, IOException {
+        for (int i = 0; i < codec.columnCount; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writeValue(data, i + 1);
+        }
+        writer.write('\n');
+        rowCount++;
+    }
+
+    private void writeValue(OraRows data, int index) throws SQLException, IOException {
+        switch (codec.kinds[index - 1]) {
+            case LONG: {
+                long value = data.getLong(index);
+                if (!data.wasNull()) {
+                    writer.write(Long.toString(value));
+                }
+                return;
+            }
+            case DOUBLE: {
+                double value = data.getDouble(index);
+                if (!data.wasNull()) {
+                    writer.write(Double.toString(value));
+                }
+                return;
+            }
+            case DECIMAL: {
+                BigDecimal value = data.getBigDecimal(index);
+                if (value != null) {
+                    writer.write(value.toPlainString());
+                }
+                return;
+            }
+            case TIMESTAMP: {
+                Timestamp value = data.getTimestamp(index);
+                if (value != null) {
+                    writer.write(value.toString());
+                }
+                return;
+            }
+            case STRING: {
+                String value = data.getString(index);
+                if (value != null) {
+                    writeText(value);
+                }
+                return;
+            }
+            case CLOB:
+                writeClob(data.getCharacterStream(index));
+                return;
+            case BLOB: {
+                // 따옴표가 필요 없는 Base64 를 스트림에서 바로 기록
+                InputStream value = data.getBinaryStream(index);
+                if (value != null) {
+                    OraRowCodec.copyBase64(value, writer);
+                }
+                return;
+            }
+            case BINARY: {
+                byte[] value = data.getBytes(index);
+                if (value != null) {
+                    writer.write(Base64.getEncoder().encodeToString(value));
+                }
+                return;
+            }
+            default: {
+                Object value = data.getObject(index);
+                if (value != null) {
+                    writeText(value.toString());
+                }
+            }
+        }
+    }
+
+    // 필요할 때만 따옴표로 감쌈
+    private void writeText(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, start, i - start + 1);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    private boolean needsQuotes(String value) {
+        int length = value.length();
+        if (length == 0 || value.charAt(0) <= ' ' || value.charAt(length - 1) <= ' ') {
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // CLOB 은 길이를 모르므로 항상 따옴표로 감싸고 스트림 그대로 복사
+    private void writeClob(Reader reader) throws IOException {
+        if (reader == null) {
+            return;
+        }
+        try (Reader clob = reader) {
+            writer.write('"');
+            char[] buffer = new char[8192];
+            int n;
+            while ((n = clob.read(buffer)) > 0) {
+                int start = 0;
+                for (int i = 0; i < n; i++) {
+                    if (buffer[i] == '"') {
+                        writer.write(buffer, start, i - start + 1);
+                        writer.write('"');
+                        start = i + 1;
+                    }
+                }
+                writer.write(buffer, start, n - start);
+            }
+            writer.write('"');
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    // SQL*Loader 제어 파일 (12.2 이상의 FIELDS CSV WITH EMBEDDED: 따옴표 안 구분자/줄바꿈 허용)
+    // 파일마다 헤더가 있으므로 데이터 파일 하나에 제어 파일 하나 (조각 파일은 동시에 적재 가능)
+    // 압축 파일은 압축을 푼 이름을 가리킴
+    static void writeControlFile(File dataFile, String tableName, OraRowCodec codec, char delimiter) throws IOException {
+        String dataFileName = OraCompression.baseName(dataFile.getName());
+        File controlFile = new File(dataFile.getParentFile(), dataFileName + ".ctl");
+        StringBuilder ctl = new StringBuilder();
+        ctl.append("-- SQL*Loader control file generated by oraback\n");
+        ctl.append("-- sqlldr userid=<user>/<password> control=").append(controlFile.getName()).append(" [direct=true]\n");
+        if (!dataFileName.equals(dataFile.getName())) {
+            ctl.append("-- decompress ").append(dataFile.getName()).append(" to ").append(dataFileName).append(" first\n");
+        }
+        ctl.append("OPTIONS (SKIP=1)\n");
+        ctl.append("LOAD DATA\n");
+        ctl.append("CHARACTERSET AL32UTF8\n");
+        ctl.append("INFILE '").append(dataFileName).append("'\n");
+        ctl.append("APPEND\n");
+        ctl.append("INTO TABLE ").append(tableName).append("\n");
+        ctl.append("FIELDS CSV WITH EMBEDDED TERMINATED BY ")
+                .append(delimiter == '\t' ? "X'09'" : "'" + (delimiter == '\'' ? "''" : String.valueOf(delimiter)) + "'")
+                .append(" OPTIONALLY ENCLOSED BY '\"'\n");
+        ctl.append("TRAILING NULLCOLS\n");
+        ctl.append("(\n");
+        for (int i = 0; i < codec.columnCount; i++) {
+            if (codec.kinds[i] == OraRowCodec.Kind.BLOB) {
+                ctl.append("  -- ").append(codec.names[i]).append(": BLOB written as Base64, skipped here (restore with OraRestore_csv)\n");
+            }
+            ctl.append("  ").append(quoteName(codec.names[i])).append(controlFieldSpec(codec, i));
+            ctl.append(i + 1 < codec.columnCount ? ",\n" : "\n");
+        }
+        ctl.append(")\n");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(controlFile), StandardCharsets.UTF_8)) {
+            writer.write(ctl.toString());
+        }
+    }
+
+    private static String controlFieldSpec(OraRowCodec codec, int i) {
+        switch (codec.kinds[i]) {
+            case LONG:
+            case DOUBLE:
+            case DECIMAL:
+                return "";
+            case TIMESTAMP:
+                return " TIMESTAMP \"YYYY-MM-DD HH24:MI:SS.FF\"";
+            case STRING:
+                // CHAR(n) 은 바이트 단위, 기본 255 (UTF-8 한 글자 최대 4바이트)
+                return " CHAR(" + fieldLength(codec.precisions[i] * 4L) + ")";
+            case CLOB:
+                return " CHAR(" + MAX_FIELD_BYTES + ")";
+            case BLOB:
+                return " FILLER CHAR(" + MAX_FIELD_BYTES + ")";
+            case BINARY:
+                return " CHAR(" + fieldLength((codec.precisions[i] + 2L) / 3 * 4) + ") \"UTL_ENCODE.BASE64_DECODE(UTL_RAW.CAST_TO_RAW(:" + quoteName(codec.names[i]) + "))\"";
+            default:
+                return " CHAR(4000)";
+        }
+    }
+
+    // 최소 255, LONG / LONG RAW 처럼 정밀도가 2GB 가까이 나오는 컬럼은 CLOB 과 같은 한도
+    private static long fieldLength(long bytes) {
+        return Math.min(MAX_FIELD_BYTES, Math.max(255, bytes));
+    }
+
+    // 대문자 식별자가 아니면 큰따옴표로
+    private static String quoteName(String name) {
+        return name.matches("[A-Z][A-Z0-9_$#]*") ? name : "\"" + name.replace("\"", "\"\"") + "\"";
+    }
+}
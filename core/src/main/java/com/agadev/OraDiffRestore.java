@@ -0,0 +1,559 @@
+package com.agadev;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// 차등 복원 (restore.mode=diff): 테이블을 비우지 않고 백업과 달라진 행만 반영
+//
+//   1) DB: 기본키 값과 나머지 컬럼의 행 해시 STANDARD_HASH(..., 'MD5') 를 한 번에 조회 (기본키 -> 해시)
+//   2) 파일: 행을 읽으며 같은 규칙으로 해시 계산, 없는 키이거나 해시가 다르면 MERGE 배치
+//   3) 파일에 없는 DB 행은 모든 테이블을 반영한 뒤 자식 테이블부터 DELETE (deleteStale)
+//
+// 해시 입력은 컬럼 값을 문자열로 바꿔 CHR(31) 로 이은 UTF-8 바이트 (DB 문자셋 AL32UTF8 기준)
+// 긴 문자열/RAW 컬럼은 컬럼 값의 MD5 (16진수) 로 대신해 4000 바이트 제한 안에 맞춤
+// 기본키가 없거나 LOB/LONG 컬럼이 있는 테이블은 기존처럼 DELETE 후 INSERT
+//
+// 1) 의 기본키 -> 해시 맵은 테이블 전체 행을 힙에 올림 (파일은 기본키 순서가 아니라 정렬 병합 비교를 할 수 없음)
+// 행마다 약 200 바이트 + 키 문자열 길이 x 2 (HashMap 항목, 키 문자열, 키 Object[], Existing, NUMBER 키의 BigDecimal)
+// 예) NUMBER 기본키 4천만 행이면 약 8GB, 기본값 restore.diff.max.rows=5000000 은 약 1GB
+// 통계(all_tables.num_rows)가 이를 넘는 테이블은 DELETE 후 INSERT, 통계가 낡아 읽다가 넘으면 그 테이블은 바꾸지 않고 실패
+public class OraDiffRestore {
+
+    private static final char SEPARATOR = '\u001f';
+    // 이보다 긴 문자열/RAW 컬럼은 값 대신 값의 해시로 비교
+    private static final int INLINE_BYTES = 64;
+    private static final int MAX_HASH_INPUT = 4000;
+
+    // 컬럼 값을 문자열로 바꾸는 방식 (DB 식과 Java 변환이 같은 결과를 내도록 짝을 맞춤)
+    enum Kind { NUMBER, TIMESTAMP, STRING, NSTRING, RAW, OTHER }
+
+    final boolean enabled;
+    final boolean delete;
+    // 기본키 -> 해시 맵에 올릴 최대 행 수 (0 이면 제한 없음)
+    final long maxRows;
+
+    OraDiffRestore(boolean enabled, boolean delete, long maxRows) {
+        this.enabled = enabled;
+        this.delete = delete;
+        this.maxRows = maxRows;
+    }
+
+    static OraDiffRestore fromConfig(Properties config) {
+        return new OraDiffRestore(
+                "diff".equals(config.getProperty("restore.mode", "conventional").trim()),
+                Boolean.parseBoolean(config.getProperty("restore.diff.delete", "true").trim()),
+                Long.parseLong(config.getProperty("restore.diff.max.rows", "5000000").trim()));
+    }
+
+    // 테이블 하나의 비교 방법
+    static class Plan {
+        final String tableName;
+        final List<String> names;
+        final int[] types;
+        final Kind[] kinds;
+        final boolean[] hashed;
+        // MERGE 의 바인드 타입 (CHAR 키는 공백 채움 비교가 되도록), 없으면 null
+        final String[] casts;
+        final int[] keys;
+        final int[] values;
+        // false 면 해시를 맞출 수 없는 컬럼이 있어 키가 같은 행은 모두 MERGE
+        final boolean comparable;
+
+        Plan(String tableName, List<String> names, int[] types, Kind[] kinds, boolean[] hashed, String[] casts, int[] keys,
+             int[] values, boolean comparable) {
+            this.tableName = tableName;
+            this.names = names;
+            this.types = types;
+            this.kinds = kinds;
+            this.hashed = hashed;
+            this.casts = casts;
+            this.keys = keys;
+            this.values = values;
+            this.comparable = comparable;
+        }
+    }
+
+    // DB 에 있는 행 (기본키 값, 행 해시)
+    static final class Existing {
+        final Object[] key;
+        final long hash;
+
+        Existing(Object[] key, long hash) {
+            this.key = key;
+            this.hash = hash;
+        }
+    }
+
+    // 테이블 반영 결과 (stale 은 파일에 없는 DB 행, 나중에 deleteStale 로 삭제)
+    static class Result {
+        long merged;
+        long unchanged;
+        List<Object[]> stale = new ArrayList<>();
+    }
+
+    // 차등 복원할 수 없는 테이블이면 null (기본키 없음, LOB/LONG 컬럼, 비교할 수 없는 타입의 기본키)
+    static Plan plan(Connection conn, String tableName) throws SQLException {
+        List<String> keyColumns = OraIncremental.primaryKeyColumns(conn, tableName);
+        if (keyColumns.isEmpty()) {
+            return null;
+        }
+        List<String> names = new ArrayList<>();
+        int[] types;
+        Kind[] kinds;
+        boolean[] hashed;
+        String[] casts;
+        int inputBytes = 0;
+        boolean comparable = true;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + tableName + " WHERE 1 = 0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            types = new int[columnCount];
+            kinds = new Kind[columnCount];
+            hashed = new boolean[columnCount];
+            casts = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                names.add(metaData.getColumnName(i + 1));
+                types[i] = metaData.getColumnType(i + 1);
+                if (isLob(types[i])) {
+                    return null;
+                }
+                kinds[i] = kindOf(types[i]);
+                int precision = metaData.getPrecision(i + 1);
+                casts[i] = castOf(kinds[i], metaData.getColumnTypeName(i + 1), precision, metaData.getScale(i + 1));
+                if (kinds[i] == Kind.STRING || kinds[i] == Kind.NSTRING) {
+                    hashed[i] = precision <= 0 || precision > INLINE_BYTES;
+                } else if (kinds[i] == Kind.RAW) {
+                    hashed[i] = precision <= 0 || precision * 2 > INLINE_BYTES;
+                }
+                if (!keyColumns.contains(names.get(i))) {
+                    inputBytes += 1 + inputBytes(kinds[i], hashed[i]);
+                    comparable &= kinds[i] != Kind.OTHER;
+                }
+            }
+        }
+
+        int[] keys = new int[keyColumns.size()];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = names.indexOf(keyColumns.get(k));
+            // 키 문자열이 파일과 DB 에서 같게 나오지 않으면 MERGE 한 행을 다시 지울 수 있으므로 제외
+            if (keys[k] < 0 || kinds[keys[k]] == Kind.OTHER) {
+                return null;
+            }
+        }
+        int[] values = new int[names.size() - keys.length];
+        for (int i = 0, v = 0; i < names.size(); i++) {
+            if (!keyColumns.contains(names.get(i))) {
+                values[v++] = i;
+            }
+        }
+        return new Plan(tableName, names, types, kinds, hashed, casts, keys, values, comparable && inputBytes <= MAX_HASH_INPUT);
+    }
+
+    private static boolean isLob(int sqlType) {
+        return sqlType == Types.CLOB || sqlType == Types.NCLOB || sqlType == Types.BLOB
+                || sqlType == Types.LONGVARCHAR || sqlType == Types.LONGNVARCHAR || sqlType == Types.LONGVARBINARY;
+    }
+
+    private static Kind kindOf(int sqlType) {
+        switch (sqlType) {
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+            case Types.FLOAT:
+                return Kind.NUMBER;
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                return Kind.TIMESTAMP;
+            case Types.CHAR:
+            case Types.VARCHAR:
+                return Kind.STRING;
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+                return Kind.NSTRING;
+            case Types.BINARY:
+            case Types.VARBINARY:
+                return Kind.RAW;
+            default:
+                // BINARY_DOUBLE, TIMESTAMP WITH TIME ZONE, INTERVAL 등
+                return Kind.OTHER;
+        }
+    }
+
+    private static String castOf(Kind kind, String typeName, int precision, int scale) {
+        switch (kind) {
+            case NUMBER:
+                // 정밀도 없는 NUMBER, FLOAT 는 scale -127
+                return precision > 0 && scale >= 0 ? typeName + "(" + precision + ", " + scale + ")" : typeName;
+            case TIMESTAMP:
+                return typeName;
+            case STRING:
+            case NSTRING:
+            case RAW:
+                return precision > 0 ? typeName + "(" + precision + ")" : typeName;
+            default:
+                return null;
+        }
+    }
+
+    // 해시 입력에서 컬럼 하나가 차지할 수 있는 최대 바이트
+    private static int inputBytes(Kind kind, boolean hashed) {
+        if (hashed) {
+            return 32;
+        }
+        switch (kind) {
+            case NUMBER:
+                return 41;
+            case TIMESTAMP:
+                return 29;
+            case RAW:
+            case STRING:
+            case NSTRING:
+                return INLINE_BYTES * 4;
+            default:
+                return 0;
+        }
+    }
+
+    // 컬럼 하나를 해시 입력 문자열로 바꾸는 SQL 식 (textOf 와 같은 결과)
+    private static String columnText(Plan plan, int i) {
+        String column = plan.names.get(i);
+        switch (plan.kinds[i]) {
+            case NUMBER:
+                return "TO_CHAR(" + column + ", 'TM9')";
+            case TIMESTAMP:
+                return "TO_CHAR(CAST(" + column + " AS TIMESTAMP), 'YYYY-MM-DD HH24:MI:SS.FF9')";
+            case STRING:
+                return plan.hashed[i] ? md5Hex(column) : column;
+            case NSTRING:
+                // 국가별 문자셋 값을 DB 문자셋으로 바꿔서 비교
+                return plan.hashed[i] ? md5Hex("TO_CHAR(" + column + ")") : "TO_CHAR(" + column + ")";
+            case RAW:
+                return plan.hashed[i] ? md5Hex(column) : "RAWTOHEX(" + column + ")";
+            default:
+                return "NULL";
+        }
+    }
+
+    private static String md5Hex(String expression) {
+        return "CASE WHEN " + expression + " IS NULL THEN NULL ELSE RAWTOHEX(STANDARD_HASH(" + expression + ", 'MD5')) END";
+    }
+
+    // 기본키 컬럼과 행 해시를 한 번에 조회
+    static String existingQuery(Plan plan) {
+        StringBuilder query = new StringBuilder("SELECT ");
+        for (int key : plan.keys) {
+            query.append(plan.names.get(key)).append(", ");
+        }
+        if (plan.values.length == 0 || !plan.comparable) {
+            query.append("NULL");
+        } else {
+            query.append("STANDARD_HASH(");
+            for (int v = 0; v < plan.values.length; v++) {
+                query.append(v > 0 ? " || CHR(31) || " : "").append(columnText(plan, plan.values[v]));
+            }
+            query.append(", 'MD5')");
+        }
+        return query.append(" FROM ").append(plan.tableName).toString();
+    }
+
+    // 기본키 문자열 -> DB 행 (maxRows 를 넘으면 실패, 0 이면 제한 없음)
+    static Map<String, Existing> loadExisting(Connection conn, Plan plan, int fetchSize, long maxRows) throws SQLException {
+        Map<String, Existing> existing = new HashMap<>();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet rs = stmt.executeQuery(existingQuery(plan))) {
+                int hashIndex = plan.keys.length + 1;
+                while (rs.next()) {
+                    if (maxRows > 0 && existing.size() >= maxRows) {
+                        throw new SQLException("Table " + plan.tableName + " has more than " + maxRows
+                                + " rows (restore.diff.max.rows), its statistics are stale; raise the limit"
+                                + " (about 200 bytes of heap per row) or gather statistics to restore it by DELETE + INSERT");
+                    }
+                    Object[] key = new Object[plan.keys.length];
+                    for (int k = 0; k < key.length; k++) {
+                        key[k] = readKey(rs, k + 1, plan.kinds[plan.keys[k]]);
+                    }
+                    byte[] hash = rs.getBytes(hashIndex);
+                    existing.put(keyText(plan, key), new Existing(key, hash == null ? 0 : ByteBuffer.wrap(hash).getLong()));
+                }
+            }
+        }
+        return existing;
+    }
+
+    private static Object readKey(ResultSet rs, int index, Kind kind) throws SQLException {
+        switch (kind) {
+            case NUMBER:
+                return rs.getBigDecimal(index);
+            case TIMESTAMP:
+                return rs.getTimestamp(index);
+            case RAW:
+                return rs.getBytes(index);
+            default:
+                return rs.getString(index);
+        }
+    }
+
+    // 파일 행을 DB 와 비교해 달라진 행만 MERGE (batchSize 행마다 executeBatch, 끝에 커밋)
+    static Result apply(Connection conn, Plan plan, Map<String, Existing> existing, Iterator<Map<String, Object>> rows,
+                        int batchSize, OraMetrics.Table metrics, String logFileName) throws SQLException {
+        String mergeQuery = buildMergeQuery(plan);
+        MessageDigest md5 = md5();
+        StringBuilder text = new StringBuilder();
+        Object[] key = new Object[plan.keys.length];
+        Result result = new Result();
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement mergeStmt = conn.prepareStatement(mergeQuery)) {
+            int pending = 0;
+            long batchStart = System.nanoTime();
+            while (rows.hasNext()) {
+                Map<String, Object> row = rows.next();
+                for (int k = 0; k < key.length; k++) {
+                    key[k] = row.get(plan.names.get(plan.keys[k]));
+                }
+                // 같은 키가 다시 나오면 (증분 delta) 이미 빠졌으므로 MERGE
+                Existing current = existing.remove(keyText(plan, key));
+                if (current != null && plan.comparable && current.hash == rowHash(plan, row, md5, text)) {
+                    result.unchanged++;
+                    if (metrics != null) {
+                        metrics.rows.increment();
+                    }
+                    continue;
+                }
+                for (int i = 0; i < plan.names.size(); i++) {
+                    OraBatchInsert.bindValue(mergeStmt, i + 1, row.get(plan.names.get(i)), plan.types[i]);
+                }
+                if (LogUtil.isDebugEnabled()) {
+                    LogUtil.debug(logFileName, mergeQuery + " " + row);
+                }
+                mergeStmt.addBatch();
+                pending++;
+                result.merged++;
+                if (pending >= batchSize) {
+                    executeBatch(mergeStmt, pending, batchStart, metrics);
+                    pending = 0;
+                    batchStart = System.nanoTime();
+                }
+            }
+            if (pending > 0) {
+                executeBatch(mergeStmt, pending, batchStart, metrics);
+            }
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        for (Existing row : existing.values()) {
+            result.stale.add(row.key);
+        }
+        return result;
+    }
+
+    private static void executeBatch(PreparedStatement stmt, int pending, long start, OraMetrics.Table metrics) throws SQLException {
+        stmt.executeBatch();
+        if (metrics != null) {
+            metrics.recordBatch(System.nanoTime() - start, pending);
+        }
+    }
+
+    // MERGE INTO t d USING (SELECT CAST(? AS 타입) AS c1, ... FROM DUAL) s ON (기본키) WHEN MATCHED THEN UPDATE ... WHEN NOT MATCHED THEN INSERT ...
+    static String buildMergeQuery(Plan plan) {
+        StringBuilder query = new StringBuilder("MERGE INTO ").append(plan.tableName).append(" d USING (SELECT ");
+        for (int i = 0; i < plan.names.size(); i++) {
+            query.append(i > 0 ? ", " : "").append(plan.casts[i] == null ? "?" : "CAST(? AS " + plan.casts[i] + ")")
+                    .append(" AS ").append(plan.names.get(i));
+        }
+        query.append(" FROM DUAL) s ON (");
+        for (int k = 0; k < plan.keys.length; k++) {
+            String column = plan.names.get(plan.keys[k]);
+            query.append(k > 0 ? " AND " : "").append("d.").append(column).append(" = s.").append(column);
+        }
+        query.append(")");
+        // 기본키만 있는 테이블은 UPDATE 할 컬럼이 없음
+        if (plan.values.length > 0) {
+            query.append(" WHEN MATCHED THEN UPDATE SET ");
+            for (int v = 0; v < plan.values.length; v++) {
+                String column = plan.names.get(plan.values[v]);
+                query.append(v > 0 ? ", " : "").append("d.").append(column).append(" = s.").append(column);
+            }
+        }
+        query.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(", ", plan.names)).append(") VALUES (");
+        for (int i = 0; i < plan.names.size(); i++) {
+            query.append(i > 0 ? ", " : "").append("s.").append(plan.names.get(i));
+        }
+        return query.append(")").toString();
+    }
+
+    // 파일에 없는 DB 행을 기본키로 삭제 (batchSize 행마다 executeBatch, 끝에 커밋)
+    static long deleteStale(Connection conn, Plan plan, List<Object[]> stale, int batchSize, String logFileName) throws SQLException {
+        StringBuilder deleteQuery = new StringBuilder("DELETE FROM ").append(plan.tableName).append(" WHERE ");
+        for (int k = 0; k < plan.keys.length; k++) {
+            deleteQuery.append(k > 0 ? " AND " : "").append(plan.names.get(plan.keys[k])).append(" = ?");
+        }
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement deleteStmt = conn.prepareStatement(deleteQuery.toString())) {
+            int pending = 0;
+            for (Object[] key : stale) {
+                for (int k = 0; k < key.length; k++) {
+                    OraBatchInsert.bindValue(deleteStmt, k + 1, key[k], plan.types[plan.keys[k]]);
+                }
+                deleteStmt.addBatch();
+                if (++pending >= batchSize) {
+                    deleteStmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                deleteStmt.executeBatch();
+            }
+            conn.commit();
+            LogUtil.log(logFileName, "Deleted " + stale.size() + " rows missing from backup in table: " + plan.tableName);
+            return stale.size();
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // 기본키 값을 이은 문자열 (파일 값과 DB 값이 같은 키면 같은 문자열)
+    private static String keyText(Plan plan, Object[] key) {
+        if (key.length == 1) {
+            return textOf(key[0], plan.kinds[plan.keys[0]], false);
+        }
+        StringBuilder text = new StringBuilder();
+        for (int k = 0; k < key.length; k++) {
+            if (k > 0) {
+                text.append(SEPARATOR);
+            }
+            text.append(textOf(key[k], plan.kinds[plan.keys[k]], false));
+        }
+        return text.toString();
+    }
+
+    // existingQuery 의 STANDARD_HASH 와 같은 값 (MD5 앞 8바이트)
+    private static long rowHash(Plan plan, Map<String, Object> row, MessageDigest md5, StringBuilder text) {
+        if (plan.values.length == 0) {
+            return 0;
+        }
+        text.setLength(0);
+        for (int v = 0; v < plan.values.length; v++) {
+            int i = plan.values[v];
+            if (v > 0) {
+                text.append(SEPARATOR);
+            }
+            text.append(textOf(row.get(plan.names.get(i)), plan.kinds[i], plan.hashed[i]));
+        }
+        return ByteBuffer.wrap(md5.digest(text.toString().getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+
+    // 값 하나를 columnText 와 같은 문자열로 (파일 값은 문자열일 수도, 타입 그대로일 수도 있음)
+    static String textOf(Object value, Kind kind, boolean hashed) {
+        // Oracle 은 빈 문자열을 NULL 로 저장
+        if (value == null || "".equals(value)) {
+            return "";
+        }
+        switch (kind) {
+            case NUMBER:
+                return numberText(value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString().trim()));
+            case TIMESTAMP:
+                return timestampText(value);
+            case RAW: {
+                byte[] bytes = value instanceof byte[] ? (byte[]) value : rawOf(value.toString().trim());
+                return hashed ? hex(md5().digest(bytes)) : hex(bytes);
+            }
+            case STRING:
+            case NSTRING:
+                return hashed ? hex(md5().digest(value.toString().getBytes(StandardCharsets.UTF_8))) : value.toString();
+            default:
+                return value.toString();
+        }
+    }
+
+    // txt/json/csv 의 RAW 는 Base64 (RAW 를 Base64 로 기록하기 전의 txt/json 백업은 "[B@..." 라 값이 남아 있지 않음)
+    private static byte[] rawOf(String text) {
+        try {
+            return Base64.getDecoder().decode(text);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("RAW value '" + text + "' is not Base64; the backup was taken before RAW columns"
+                    + " were written as Base64 and does not contain the bytes, take a new backup", e);
+        }
+    }
+
+    // TO_CHAR(n, 'TM9') 형식: 뒤쪽 0 없음, 1 보다 작으면 앞의 0 없음 (0.5 -> .5)
+    static String numberText(BigDecimal number) {
+        if (number.signum() == 0) {
+            return "0";
+        }
+        String text = number.stripTrailingZeros().toPlainString();
+        if (text.startsWith("0.")) {
+            return text.substring(1);
+        }
+        if (text.startsWith("-0.")) {
+            return "-" + text.substring(2);
+        }
+        return text;
+    }
+
+    // 'YYYY-MM-DD HH24:MI:SS.FF9' 형식
+    private static String timestampText(Object value) {
+        Timestamp timestamp;
+        if (value instanceof Timestamp) {
+            timestamp = (Timestamp) value;
+        } else if (value instanceof java.util.Date) {
+            timestamp = new Timestamp(((java.util.Date) value).getTime());
+        } else {
+            timestamp = OraBatchInsert.parseTimestamp(value.toString());
+        }
+        LocalDateTime time = timestamp.toLocalDateTime();
+        return String.format("%04d-%02d-%02d %02d:%02d:%02d.%09d", time.getYear(), time.getMonthValue(), time.getDayOfMonth(),
+                time.getHour(), time.getMinute(), time.getSecond(), time.getNano());
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] digits = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            digits[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xf, 16);
+            digits[i * 2 + 1] = Character.forDigit(bytes[i] & 0xf, 16);
+        }
+        // RAWTOHEX 는 대문자
+        return new String(digits).toUpperCase();
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
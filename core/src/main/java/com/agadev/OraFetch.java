@@ -0,0 +1,54 @@
+package com.agadev;
+
+import java.util.Properties;
+
+// 추출 쿼리의 fetch size 와 LOB 프리페치 설정
+//
+// fetch.size 를 지정하지 않으면 all_tables.avg_row_len 과 메모리 예산으로 테이블마다 계산
+//   fetch size = fetch.memory.budget.kb * 1024 / avg_row_len  (fetch.size.min ~ fetch.size.max)
+public class OraFetch {
+
+    private final int fixedSize;
+    private final long memoryBudgetBytes;
+    private final int minSize;
+    private final int maxSize;
+    private final int lobPrefetchSize;
+
+    OraFetch(int fixedSize, long memoryBudgetBytes, int minSize, int maxSize, int lobPrefetchSize) {
+        this.fixedSize = fixedSize;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.lobPrefetchSize = lobPrefetchSize;
+    }
+
+    static OraFetch fromConfig(Properties config) {
+        return new OraFetch(
+                Integer.parseInt(config.getProperty("fetch.size", "0").trim()),
+                Long.parseLong(config.getProperty("fetch.memory.budget.kb", "4096").trim()) * 1024,
+                Integer.parseInt(config.getProperty("fetch.size.min", "100").trim()),
+                Integer.parseInt(config.getProperty("fetch.size.max", "10000").trim()),
+                Integer.parseInt(config.getProperty("lob.prefetch.size", "32768").trim()));
+    }
+
+    // 테이블 평균 행 길이 기준 fetch size (통계가 없으면 최소값)
+    int fetchSizeFor(long avgRowLen) {
+        if (fixedSize > 0) {
+            return fixedSize;
+        }
+        if (avgRowLen <= 0) {
+            return minSize;
+        }
+        long rows = memoryBudgetBytes / avgRowLen;
+        return (int) Math.max(minSize, Math.min(maxSize, rows));
+    }
+
+    // 커넥션 생성 시 넘길 드라이버 속성 (LOB 값을 locator 와 함께 미리 받아 왕복 횟수 절감)
+    Properties connectionProperties() {
+        Properties properties = new Properties();
+        if (lobPrefetchSize > 0) {
+            properties.setProperty("oracle.jdbc.defaultLobPrefetchSize", String.valueOf(lobPrefetchSize));
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,62 @@
+package com.agadev;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// all_constraints 의 외래키로 만든 테이블 의존 관계 (부모 -> 자식)
+public class OraForeignKeys {
+
+    // 테이블별 부모 테이블 (주어진 테이블끼리의 관계만, 자기 참조 제외)
+    static Map<String, Set<String>> parentsOf(Connection conn, Collection<String> tableNames) throws SQLException {
+        Map<String, Set<String>> parents = new LinkedHashMap<>();
+        for (String tableName : tableNames) {
+            parents.put(tableName, new LinkedHashSet<>());
+        }
+        String query = "SELECT c.table_name, p.table_name FROM all_constraints c"
+                + " JOIN all_constraints p ON p.owner = c.r_owner AND p.constraint_name = c.r_constraint_name"
+                + " WHERE c.owner = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') AND c.constraint_type = 'R'";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            while (rs.next()) {
+                String child = rs.getString(1);
+                String parent = rs.getString(2);
+                if (!child.equals(parent) && parents.containsKey(child) && parents.containsKey(parent)) {
+                    parents.get(child).add(parent);
+                }
+            }
+        }
+        return parents;
+    }
+
+    // 부모가 먼저 오는 순서 (순환이 있으면 남은 테이블은 원래 순서대로 뒤에 붙임)
+    static List<String> parentsFirst(Map<String, Set<String>> parents) {
+        List<String> order = new ArrayList<>();
+        Set<String> placed = new LinkedHashSet<>();
+        boolean progress = true;
+        while (progress && placed.size() < parents.size()) {
+            progress = false;
+            for (Map.Entry<String, Set<String>> entry : parents.entrySet()) {
+                if (!placed.contains(entry.getKey()) && placed.containsAll(entry.getValue())) {
+                    placed.add(entry.getKey());
+                    order.add(entry.getKey());
+                    progress = true;
+                }
+            }
+        }
+        for (String tableName : parents.keySet()) {
+            if (placed.add(tableName)) {
+                order.add(tableName);
+            }
+        }
+        return order;
+    }
+}
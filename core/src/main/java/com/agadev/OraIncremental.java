@@ -0,0 +1,360 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+
+// 증분 백업: 테이블별 high-water mark 를 <테이블명>.<확장자>.incremental 에 기록하고
+// 다음 실행부터 변경된 행만 <테이블명>.<확장자>.deltaNNNN 으로 추출
+//
+// 기준은 ORA_ROWSCN(기본) 또는 incremental.column[.<테이블명>] 으로 지정한 수정 시각 컬럼
+// 삭제된 행은 잡히지 않으므로 주기적으로(incremental.max.deltas) 전체 백업을 새로 받음
+public class OraIncremental {
+
+    static final String SUFFIX = ".incremental";
+
+    // 테이블 하나에 대한 이번 실행의 계획
+    static class TablePlan {
+        final boolean enabled;
+        final String column;
+        final String type;
+        final String highWaterMark;
+        final String filter;
+        final Properties state;
+
+        TablePlan(boolean enabled, String column, String type, String highWaterMark, String filter, Properties state) {
+            this.enabled = enabled;
+            this.column = column;
+            this.type = type;
+            this.highWaterMark = highWaterMark;
+            this.filter = filter;
+            this.state = state;
+        }
+
+        // 이전 상태가 있으면 변경분만 추출
+        boolean isDelta() {
+            return state != null;
+        }
+
+        int deltaIndex() {
+            return Integer.parseInt(state.getProperty("deltas", "0")) + 1;
+        }
+    }
+
+    private final boolean enabled;
+    private final Properties config;
+    private final int maxDeltas;
+
+    OraIncremental(boolean enabled, Properties config, int maxDeltas) {
+        this.enabled = enabled;
+        this.config = config;
+        this.maxDeltas = maxDeltas;
+    }
+
+    static OraIncremental fromConfig(Properties config) {
+        return new OraIncremental(
+                "incremental".equals(config.getProperty("backup.mode", "full").trim()),
+                config,
+                Integer.parseInt(config.getProperty("incremental.max.deltas", "30").trim()));
+    }
+
+    // 테이블별 기준 컬럼 (없으면 ORA_ROWSCN)
+    private String columnFor(String tableName) {
+        String column = config.getProperty("incremental.column." + tableName, config.getProperty("incremental.column", "")).trim();
+        return column.isEmpty() ? null : column.toUpperCase();
+    }
+
+    static File stateFile(File dir, String tableName, String extension) {
+        return new File(dir, tableName + "." + extension + SUFFIX);
+    }
+
+    // <테이블명>.<확장자>.deltaNNNN
+    static String deltaFileName(String tableName, String extension, int index) {
+        return tableName + "." + extension + String.format(".delta%04d", index);
+    }
+
+    // 추출 직전에 high-water mark 를 먼저 잡음 (추출 중 변경된 행은 다음 delta 에 다시 포함 -> 복원 시 upsert 로 중복 무해)
+    // 스냅샷 백업이면 스냅샷 SCN 시점 기준 (그 뒤 변경은 다음 delta 에 포함)
+    TablePlan plan(Connection conn, File dir, String tableName, String extension, OraSnapshot snapshot, String logFileName) throws SQLException {
+        if (!enabled) {
+            return new TablePlan(false, null, null, null, null, null);
+        }
+        String column = columnFor(tableName);
+        String type;
+        String highWaterMark;
+        if (column == null) {
+            type = "scn";
+            highWaterMark = snapshot.getScn() != null ? snapshot.getScn() : OraSnapshot.currentScn(conn);
+        } else {
+            // 빈 테이블이면 MAX 가 NULL 이므로 종류는 컬럼 타입으로 정함
+            type = typeOf(conn, tableName, column);
+            Object max = maxValue(conn, tableName + snapshot.asOf(), column);
+            highWaterMark = max == null ? null : max.toString();
+        }
+
+        Properties state = readState(stateFile(dir, tableName, extension), logFileName);
+        if (state != null && !canAppendDelta(dir, state, column)) {
+            state = null;
+        }
+        // 예전 상태 파일의 type 은 빈 테이블에서 잘못 정해졌을 수 있으므로 지금 컬럼 타입으로 조건을 만듦
+        String filter = state == null ? null : filterOf(column, type, state.getProperty("hwm"));
+        return new TablePlan(true, column, type, highWaterMark, filter, state);
+    }
+
+    // 기준 컬럼이 같고, 기본 백업이 남아 있고, delta 가 한도 미만일 때만 이어서 증분
+    private boolean canAppendDelta(File dir, Properties state, String column) {
+        String stateColumn = state.getProperty("column", "");
+        if (!stateColumn.equals(column == null ? "" : column)) {
+            return false;
+        }
+        if (!new File(dir, state.getProperty("base", "")).exists()) {
+            return false;
+        }
+        return Integer.parseInt(state.getProperty("deltas", "0")) < maxDeltas;
+    }
+
+    // 이전 high-water mark 이후 변경된 행 조건 (값이 없으면 전체)
+    private static String filterOf(String column, String type, String highWaterMark) {
+        if (highWaterMark == null) {
+            return null;
+        }
+        if (column == null) {
+            // ORA_ROWSCN 은 (ROWDEPENDENCIES 가 아니면) 블록 단위라 바뀌지 않은 행도 일부 포함됨
+            return "ORA_ROWSCN > " + Long.parseLong(highWaterMark);
+        }
+        // 같은 시각에 바뀐 행을 놓치지 않도록 경계 포함
+        if ("number".equals(type)) {
+            return column + " >= " + new BigDecimal(highWaterMark).toPlainString();
+        }
+        return column + " >= TIMESTAMP '" + Timestamp.valueOf(highWaterMark) + "'";
+    }
+
+    // 기준 컬럼 종류: 숫자면 number, 그 외(DATE, TIMESTAMP)는 timestamp
+    private static String typeOf(Connection conn, String tableName, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + column + " FROM " + tableName + " WHERE 1 = 0")) {
+            switch (rs.getMetaData().getColumnType(1)) {
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                case Types.REAL:
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                    return "number";
+                default:
+                    return "timestamp";
+            }
+        }
+    }
+
+    private static Object maxValue(Connection conn, String source, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(" + column + ") FROM " + source)) {
+            rs.next();
+            Object value = rs.getObject(1);
+            if (value instanceof Number) {
+                return rs.getBigDecimal(1);
+            }
+            return value == null ? null : rs.getTimestamp(1);
+        }
+    }
+
+    // 전체 백업 완료 후: 증분 모드면 새 상태로 시작, 아니면 이전 증분 파일 제거
+    static void recordBase(File dir, String tableName, String extension, TablePlan plan, String baseFileName) throws IOException {
+        deleteDeltas(dir, tableName, extension);
+        File stateFile = stateFile(dir, tableName, extension);
+        if (!plan.enabled) {
+            stateFile.delete();
+            return;
+        }
+        Properties state = new Properties();
+        state.setProperty("table", tableName);
+        if (plan.column != null) {
+            state.setProperty("column", plan.column);
+        }
+        state.setProperty("type", plan.type);
+        state.setProperty("base", baseFileName);
+        if (plan.highWaterMark != null) {
+            state.setProperty("base.hwm", plan.highWaterMark);
+            state.setProperty("hwm", plan.highWaterMark);
+        }
+        state.setProperty("deltas", "0");
+        writeState(stateFile, state);
+    }
+
+    // delta 파일 완료 후 상태에 추가 (상태 파일은 delta 가 완성된 뒤에만 갱신)
+    static void recordDelta(File dir, String tableName, String extension, TablePlan plan, String deltaFileName, long rowCount) throws IOException {
+        Properties state = plan.state;
+        int index = plan.deltaIndex();
+        String prefix = "delta." + index + ".";
+        state.setProperty(prefix + "file", deltaFileName);
+        state.setProperty(prefix + "rows", String.valueOf(rowCount));
+        if (state.getProperty("hwm") != null) {
+            state.setProperty(prefix + "from", state.getProperty("hwm"));
+        }
+        if (plan.highWaterMark != null) {
+            state.setProperty(prefix + "hwm", plan.highWaterMark);
+            state.setProperty("hwm", plan.highWaterMark);
+        }
+        if (plan.type != null) {
+            state.setProperty("type", plan.type);
+        }
+        state.setProperty("deltas", String.valueOf(index));
+        writeState(stateFile(dir, tableName, extension), state);
+    }
+
+    // 새 기본 백업이 생기면 이전 delta 는 의미가 없으므로 제거
+    private static void deleteDeltas(File dir, String tableName, String extension) {
+        String prefix = tableName + "." + extension + ".delta";
+        File[] deltas = dir.listFiles((d, name) -> name.startsWith(prefix));
+        if (deltas != null) {
+            for (File delta : deltas) {
+                delta.delete();
+            }
+        }
+    }
+
+    // 상태 파일에 적힌 순서대로 delta 파일 목록 반환 (상태 파일이 없으면 빈 목록)
+    static List<File> deltaFiles(File dir, String tableName, String extension) throws IOException {
+        List<File> files = new ArrayList<>();
+        File stateFile = stateFile(dir, tableName, extension);
+        if (!stateFile.exists()) {
+            return files;
+        }
+        Properties state = new Properties();
+        try (InputStream input = new FileInputStream(stateFile)) {
+            state.load(input);
+        }
+        int deltaCount = Integer.parseInt(state.getProperty("deltas", "0"));
+        for (int i = 1; i <= deltaCount; i++) {
+            File delta = new File(dir, state.getProperty("delta." + i + ".file"));
+            if (!delta.exists()) {
+                throw new IOException("Missing delta file listed in " + stateFile.getName() + ": " + delta.getName());
+            }
+            files.add(delta);
+        }
+        return files;
+    }
+
+    // 기본 백업 복원 후 delta 를 순서대로 적용 (기본키 기준 DELETE 후 INSERT, delta 마다 커밋)
+    static void applyDeltas(Connection conn, File dir, String tableName, String extension, OraRowSource.Opener opener,
+                            ExecutorService decodePool, int batchSize, int queueBatches, OraThrottle.Worker throttle,
+                            String logFileName) throws Exception {
+        List<File> deltas = deltaFiles(dir, tableName, extension);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<String> keyColumns = primaryKeyColumns(conn, tableName);
+        if (keyColumns.isEmpty()) {
+            throw new SQLException("Cannot apply deltas without a primary key: " + tableName);
+        }
+        OraBatchInsert.TableColumns columns = OraBatchInsert.describe(conn, tableName);
+        OraRowStream.Decoder decoder = OraTypeCodec.decoder(columns);
+        for (File delta : deltas) {
+            try (OraRowStream rows = new OraRowStream(Collections.singletonList(delta), opener, decoder, decodePool, batchSize, queueBatches,
+                    tableName, throttle)) {
+                long applied = upsertRows(conn, tableName, columns, keyColumns, rows, batchSize, logFileName);
+                LogUtil.log(logFileName, "Applied " + applied + " changed rows from " + delta.getName() + " to table: " + tableName);
+            }
+        }
+    }
+
+    // batchSize 행씩 기존 행을 기본키로 지우고 다시 INSERT
+    private static long upsertRows(Connection conn, String tableName, OraBatchInsert.TableColumns columns, List<String> keyColumns,
+                                   Iterator<Map<String, Object>> rows, int batchSize, String logFileName) throws SQLException {
+        int[] keyTypes = new int[keyColumns.size()];
+        StringBuilder deleteQuery = new StringBuilder("DELETE FROM ").append(tableName).append(" WHERE ");
+        for (int i = 0; i < keyColumns.size(); i++) {
+            keyTypes[i] = columns.types[columns.names.indexOf(keyColumns.get(i))];
+            deleteQuery.append(i > 0 ? " AND " : "").append(keyColumns.get(i)).append(" = ?");
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        long applied = 0;
+        try (PreparedStatement deleteStmt = conn.prepareStatement(deleteQuery.toString())) {
+            List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+            while (rows.hasNext()) {
+                batch.add(rows.next());
+                if (batch.size() >= batchSize || !rows.hasNext()) {
+                    for (Map<String, Object> row : batch) {
+                        for (int i = 0; i < keyColumns.size(); i++) {
+                            OraBatchInsert.bindValue(deleteStmt, i + 1, row.get(keyColumns.get(i)), keyTypes[i]);
+                        }
+                        deleteStmt.addBatch();
+                    }
+                    deleteStmt.executeBatch();
+                    applied += OraBatchInsert.insertRows(conn, tableName, columns, batch, batchSize, 0, logFileName);
+                    batch.clear();
+                }
+            }
+            conn.commit();
+            return applied;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // 기본키 컬럼 (순서대로)
+    static List<String> primaryKeyColumns(Connection conn, String tableName) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        String query = "SELECT cc.column_name FROM all_constraints c"
+                + " JOIN all_cons_columns cc ON cc.owner = c.owner AND cc.constraint_name = c.constraint_name"
+                + " WHERE c.owner = NVL(?, SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')) AND c.table_name = ? AND c.constraint_type = 'P'"
+                + " ORDER BY cc.position";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, OraCatalog.ownerOf(tableName));
+            stmt.setString(2, OraCatalog.bareName(tableName));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1));
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static Properties readState(File stateFile, String logFileName) {
+        if (!stateFile.exists()) {
+            return null;
+        }
+        Properties state = new Properties();
+        try (InputStream input = new FileInputStream(stateFile)) {
+            state.load(input);
+            return state;
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error reading incremental state: " + stateFile.getName() + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeState(File stateFile, Properties state) throws IOException {
+        try (OutputStream output = new FileOutputStream(stateFile)) {
+            state.store(output, "incremental backup of " + state.getProperty("table"));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.agadev;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// 작업 저널: 끝난 작업 단위를 한 줄씩 덧붙여 기록 (기록마다 디스크에 동기화)
+// 같은 작업을 job.resume=true (또는 -Dresume=true) 로 다시 실행하면 저널을 읽어 끝난 단위는 건너뜀
+//
+// 백업 (<output.dir>/oraback-<확장자>.journal)
+//   TABLE  <테이블> <파일> <행 수> <바이트>              테이블(또는 조각 manifest) 완료
+//   CHUNK  <테이블> <번호> <범위> <파일> <행 수> <바이트>  조각 하나 완료
+// 복원 (<src.dir>/orarestore-<확장자>.journal)
+//   COMMIT <테이블> <행 수>                            커밋된 행 수 (이어서 적재할 위치)
+//   TABLE  <테이블> <행 수>                            테이블 복원 완료 (변경분 포함)
+//   COMMIT 은 DB 커밋 뒤에 기록하므로 뒤처질 수 있어, 이어서 할 때는 테이블의 실제 행 수로 맞춤 (OraRestoreJob)
+// 공통
+//   FINISHED                                           작업이 실패 없이 끝남 (다음 실행은 처음부터)
+public class OraJournal implements AutoCloseable {
+
+    static final String TABLE = "TABLE";
+    static final String CHUNK = "CHUNK";
+    static final String COMMIT = "COMMIT";
+    static final String FINISHED = "FINISHED";
+
+    private final File file;
+    private final FileOutputStream output;
+    // 이전 실행에서 읽은 기록 (키: 종류 + 테이블 [+ 조각 번호], 같은 키는 마지막 기록)
+    private final Map<String, String[]> previous;
+
+    private OraJournal(File file, FileOutputStream output, Map<String, String[]> previous) {
+        this.file = file;
+        this.output = output;
+        this.previous = previous;
+    }
+
+    static boolean resumeRequested(Properties config) {
+        return Boolean.parseBoolean(System.getProperty("resume", config.getProperty("job.resume", "false")).trim());
+    }
+
+    static File backupJournal(File dir, String extension) {
+        return new File(dir, "oraback-" + extension + ".journal");
+    }
+
+    static File restoreJournal(File dir, String extension) {
+        return new File(dir, "orarestore-" + extension + ".journal");
+    }
+
+    // resume 이면 이전 기록을 읽고 이어서 기록, 아니면 (또는 이전 작업이 끝났으면) 새로 시작
+    static OraJournal open(File file, boolean resume, String logFileName) throws IOException {
+        Map<String, String[]> previous = new HashMap<>();
+        if (resume && file.exists()) {
+            boolean finished = false;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split("\t", -1);
+                    if (FINISHED.equals(fields[0])) {
+                        finished = true;
+                    } else if (fields.length >= 2) {
+                        previous.put(key(fields), fields);
+                    }
+                }
+            }
+            if (finished) {
+                LogUtil.log(logFileName, "Previous job in " + file.getName() + " finished, starting a new run");
+                previous.clear();
+            } else {
+                LogUtil.log(logFileName, "Resuming from " + file.getName() + " (" + previous.size() + " entries)");
+            }
+        }
+        boolean append = !previous.isEmpty();
+        return new OraJournal(file, new FileOutputStream(file, append), previous);
+    }
+
+    // 이전 실행을 이어서 하는 중 (끝나지 않은 작업의 기록이 있음)
+    boolean isResuming() {
+        return !previous.isEmpty();
+    }
+
+    private static String key(String[] fields) {
+        return CHUNK.equals(fields[0]) ? fields[0] + "\t" + fields[1] + "\t" + fields[2] : fields[0] + "\t" + fields[1];
+    }
+
+    synchronized void record(String... fields) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            line.append(fields[i].replace('\t', ' ').replace('\n', ' '));
+        }
+        line.append('\n');
+        output.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        output.getFD().sync();
+    }
+
+    void recordTable(String tableName, String fileName, long rows, long bytes) throws IOException {
+        record(TABLE, tableName, fileName, String.valueOf(rows), String.valueOf(bytes));
+    }
+
+    void recordChunk(String tableName, int index, String range, String fileName, long rows, long bytes) throws IOException {
+        record(CHUNK, tableName, String.valueOf(index), range, fileName, String.valueOf(rows), String.valueOf(bytes));
+    }
+
+    void recordCommit(String tableName, long rows) throws IOException {
+        record(COMMIT, tableName, String.valueOf(rows));
+    }
+
+    void recordRestored(String tableName, long rows) throws IOException {
+        record(TABLE, tableName, String.valueOf(rows));
+    }
+
+    void recordFinished() throws IOException {
+        record(FINISHED);
+    }
+
+    // 이전 실행에서 백업이 끝난 테이블 (파일이 그대로 있을 때만), 없으면 -1
+    long backedUpRows(File dir, String tableName) {
+        String[] entry = previous.get(TABLE + "\t" + tableName);
+        if (entry == null || entry.length < 5 || !unchanged(new File(dir, entry[2]), entry[4])) {
+            return -1;
+        }
+        return Long.parseLong(entry[3]);
+    }
+
+    // 이전 실행에서 끝난 조각 (범위와 파일이 같을 때만), 없으면 -1
+    long chunkRows(File dir, String tableName, int index, String range, String fileName) {
+        String[] entry = previous.get(CHUNK + "\t" + tableName + "\t" + index);
+        if (entry == null || entry.length < 7 || !entry[3].equals(range.replace('\t', ' ').replace('\n', ' '))
+                || !entry[4].equals(fileName) || !unchanged(new File(dir, fileName), entry[6])) {
+            return -1;
+        }
+        return Long.parseLong(entry[5]);
+    }
+
+    // 이전 실행에서 복원이 끝난 테이블의 행 수, 없으면 -1
+    long restoredRows(String tableName) {
+        String[] entry = previous.get(TABLE + "\t" + tableName);
+        return entry == null ? -1 : Long.parseLong(entry[2]);
+    }
+
+    // 이전 실행에서 커밋까지 끝난 행 수 (이어서 적재할 위치), 없으면 0
+    long committedRows(String tableName) {
+        String[] entry = previous.get(COMMIT + "\t" + tableName);
+        return entry == null ? 0 : Long.parseLong(entry[2]);
+    }
+
+    // 복원을 시작한 적이 있는 테이블 (다시 지우면 안 됨)
+    boolean restoreStarted(String tableName) {
+        return restoredRows(tableName) >= 0 || committedRows(tableName) > 0;
+    }
+
+    private static boolean unchanged(File file, String bytes) {
+        return file.exists() && String.valueOf(file.length()).equals(bytes);
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
@@ -12,6 +12,9 @@ public class OraMain {
 		else if (job.equals("restore")) {
 			OraRestore.main(args);
 		}
+		else if (job.equals("repository")) {
+			OraRepository.main(new String[] { args[0], args.length > 2 ? args[2] : "gc" });
+		}
 
 	}
 
@@ -0,0 +1,320 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+// 압축하지 않은 txt 백업 파일을 메모리 매핑해 읽는 행 소스 (restore.mmap=true)
+//
+// 파일을 windowBytes 크기 구간으로 FileChannel.map 하고, 줄이 구간 끝에 걸리면 그 줄 시작부터 다음 구간을 매핑
+// 줄마다 매핑된 바이트에서 키/값 위치만 찾고 (OraRestore.parseTextLineToMap 과 같은 규칙),
+// 값 문자열은 INSERT 에 바인딩할 때 (Row.get) 처음 만듦 -> 테이블에 없는 컬럼은 디코딩하지 않음
+// 행은 매핑 구간을 가리키는 뷰라서 복사하지 않고 큐로 넘김 (구간은 참조하는 행이 모두 쓰이면 GC 때 해제)
+public class OraMappedText implements OraRowSource {
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowBytes;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position;
+    private Layout layout;
+    // 줄 파싱용 (읽기 스레드에서만 재사용)
+    private int[] pairStarts = new int[16];
+    private int[] pairEnds = new int[16];
+
+    private OraMappedText(FileChannel channel, int windowBytes) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.windowBytes = Math.max(1 << 16, windowBytes);
+        map(0, (int) Math.min(this.windowBytes, fileSize));
+    }
+
+    static OraMappedText open(File file, int windowBytes) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            return new OraMappedText(channel, windowBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void map(long start, int size) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+        position = 0;
+    }
+
+    @Override
+    public Map<String, Object> next() throws IOException {
+        while (true) {
+            int start = position;
+            int end = lineEnd(window, start, window.limit());
+            boolean more = windowStart + window.limit() < fileSize;
+            // 줄 끝이 구간 밖이거나 구간 마지막 바이트가 \r 이면 (\r\n 확인) 줄 시작부터 다시 매핑
+            // (구간 전체가 한 줄이면 구간을 두 배로)
+            if (more && (end < 0 || end == window.limit() - 1 && window.get(end) == '\r')) {
+                long lineStart = windowStart + start;
+                long size = start == 0 ? 2L * window.limit() : windowBytes;
+                map(lineStart, (int) Math.min(Math.min(size, Integer.MAX_VALUE), fileSize - lineStart));
+                continue;
+            }
+            if (end < 0) {
+                // 마지막 줄 (줄바꿈 없음)
+                if (start >= window.limit()) {
+                    return null;
+                }
+                end = window.limit();
+            }
+            // BufferedReader.readLine 처럼 \n, \r, \r\n 모두 줄 끝
+            position = end + 1;
+            if (end + 1 < window.limit() && window.get(end) == '\r' && window.get(end + 1) == '\n') {
+                position++;
+            }
+            if (!isBlank(window, start, end)) {
+                return parseLine(start, end);
+            }
+        }
+    }
+
+    // {키=값, 키=값} : 앞뒤 한 글자씩 떼고 ", " 로 나눈 뒤 각 조각을 "=" 로 나눔
+    private Row parseLine(int start, int end) {
+        int contentStart = start + 1;
+        int contentEnd = Math.max(contentStart, end - 1);
+
+        int count = 0;
+        int pairStart = contentStart;
+        for (int i = contentStart; i + 1 < contentEnd; i++) {
+            if (window.get(i) == ',' && window.get(i + 1) == ' ') {
+                count = addPair(count, pairStart, i);
+                pairStart = i + 2;
+                i++;
+            }
+        }
+        count = addPair(count, pairStart, contentEnd);
+        // String.split 처럼 끝의 빈 조각은 버림 (모두 비었으면 하나 남김)
+        while (count > 1 && pairStarts[count - 1] == pairEnds[count - 1]) {
+            count--;
+        }
+
+        // 키 구간은 pairEnds 에 덮어써서 Layout 비교에 사용
+        int[] valueStarts = new int[count];
+        int[] valueEnds = new int[count];
+        for (int p = 0; p < count; p++) {
+            int from = pairStarts[p];
+            int to = pairEnds[p];
+            int equals = indexOf(window, (byte) '=', from, to);
+            pairEnds[p] = equals < 0 ? to : equals;
+            valueStarts[p] = Row.NULL;
+            if (equals >= 0) {
+                int valueEnd = indexOf(window, (byte) '=', equals + 1, to);
+                if (valueEnd < 0) {
+                    valueEnd = to;
+                }
+                if (valueEnd > equals + 1) {
+                    if (!isNullLiteral(window, equals + 1, valueEnd)) {
+                        valueStarts[p] = equals + 1;
+                        valueEnds[p] = valueEnd;
+                    }
+                } else if (hasNonEquals(window, valueEnd, to)) {
+                    // "키==값" 은 split("=") 결과 두 번째가 빈 문자열
+                    valueStarts[p] = valueEnd;
+                    valueEnds[p] = valueEnd;
+                }
+            }
+        }
+
+        if (layout == null || !layout.matches(window, pairStarts, pairEnds, count)) {
+            layout = new Layout(window, pairStarts, pairEnds, count);
+        }
+        return new Row(window, layout, valueStarts, valueEnds);
+    }
+
+    private int addPair(int count, int from, int to) {
+        if (count == pairStarts.length) {
+            pairStarts = Arrays.copyOf(pairStarts, count * 2);
+            pairEnds = Arrays.copyOf(pairEnds, count * 2);
+        }
+        pairStarts[count] = from;
+        pairEnds[count] = to;
+        return count + 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int lineEnd(MappedByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, byte b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // String.trim().isEmpty() 와 같음 (' ' 이하만 있는 줄)
+    private static boolean isBlank(MappedByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((buffer.get(i) & 0xff) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNullLiteral(MappedByteBuffer buffer, int from, int to) {
+        return to - from == 4 && buffer.get(from) == 'n' && buffer.get(from + 1) == 'u'
+                && buffer.get(from + 2) == 'l' && buffer.get(from + 3) == 'l';
+    }
+
+    private static boolean hasNonEquals(MappedByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) != '=') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 바이트 구간을 문자열로 (다른 스레드도 읽으므로 위치를 바꾸지 않는 절대 위치 get 으로 복사)
+    static String decode(MappedByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // 줄의 키 순서 (txt 백업은 모든 줄이 같은 순서라 파일마다 보통 하나)
+    static final class Layout {
+        final String[] keys;
+        final byte[][] keyBytes;
+        final Map<String, Integer> index = new HashMap<>();
+
+        Layout(MappedByteBuffer buffer, int[] keyStarts, int[] keyEnds, int count) {
+            keys = new String[count];
+            keyBytes = new byte[count][];
+            for (int i = 0; i < keys.length; i++) {
+                keyBytes[i] = new byte[keyEnds[i] - keyStarts[i]];
+                for (int j = 0; j < keyBytes[i].length; j++) {
+                    keyBytes[i][j] = buffer.get(keyStarts[i] + j);
+                }
+                keys[i] = new String(keyBytes[i], StandardCharsets.UTF_8);
+                // 같은 키가 두 번이면 HashMap.put 처럼 뒤의 값
+                index.put(keys[i], i);
+            }
+        }
+
+        boolean matches(MappedByteBuffer buffer, int[] keyStarts, int[] keyEnds, int count) {
+            if (count != keys.length) {
+                return false;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                byte[] expected = keyBytes[i];
+                if (keyEnds[i] - keyStarts[i] != expected.length) {
+                    return false;
+                }
+                for (int j = 0; j < expected.length; j++) {
+                    if (buffer.get(keyStarts[i] + j) != expected[j]) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    // 매핑 구간 위의 행 뷰 (읽기 전용, 값은 get 할 때 디코딩)
+    static final class Row extends AbstractMap<String, Object> {
+        static final int NULL = -1;
+
+        private final MappedByteBuffer window;
+        private final Layout layout;
+        private final int[] valueStarts;
+        private final int[] valueEnds;
+
+        Row(MappedByteBuffer window, Layout layout, int[] valueStarts, int[] valueEnds) {
+            this.window = window;
+            this.layout = layout;
+            this.valueStarts = valueStarts;
+            this.valueEnds = valueEnds;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer i = layout.index.get(key);
+            return i == null ? null : value(i);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return layout.index.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return layout.index.size();
+        }
+
+        private String value(int i) {
+            return valueStarts[i] == NULL ? null : decode(window, valueStarts[i], valueEnds[i]);
+        }
+
+        // 로그 (DEBUG) 와 values() 용, 중복 키는 뒤의 값만
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private final Iterator<Map.Entry<String, Integer>> keys = layout.index.entrySet().iterator();
+
+                        @Override
+                        public boolean hasNext() {
+                            return keys.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Map.Entry<String, Integer> key = keys.next();
+                            return new SimpleImmutableEntry<>(key.getKey(), value(key.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return layout.index.size();
+                }
+            };
+        }
+    }
+}
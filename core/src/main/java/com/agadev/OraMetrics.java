@@ -0,0 +1,639 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+// 백업/복원 작업의 테이블별 계측 (행 수, 바이트, 왕복 지연 분포, 배치 크기, 오류 수)
+//
+// 행 루프에서는 스레드 전용 Progress 가 1024 행마다 한 번만 공유 카운터(LongAdder)에 더하고,
+// 지연 시간은 fetch 왕복/executeBatch 단위로만 잼 (행마다 nanoTime 호출 없음)
+//
+// 노출: JMX MBean (com.agadev:type=<Backup|Restore>Job / <Backup|Restore>Table),
+//       metrics.interval.seconds 마다 진행 로그(ETA) 와 Prometheus 텍스트 파일(metrics.prometheus.file)
+public class OraMetrics implements AutoCloseable {
+
+    // 지연 시간 구간 (나노초, Prometheus 에는 초 단위로)
+    static final long[] LATENCY_BUCKETS = {
+            500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L };
+
+    // 배치 크기 구간 (행)
+    static final long[] BATCH_BUCKETS = { 1, 10, 100, 500, 1_000, 5_000, 10_000, 50_000, 100_000 };
+
+    static final int STATE_PENDING = 0;
+    static final int STATE_RUNNING = 1;
+    static final int STATE_DONE = 2;
+    static final int STATE_FAILED = 3;
+
+    private static final String[] STATE_NAMES = { "pending", "running", "done", "failed" };
+
+    // JMX 속성 (작업 전체)
+    public interface JobMBean {
+        String getJob();
+        String getEnvironment();
+        long getRows();
+        long getEstimatedRows();
+        long getBytes();
+        long getErrors();
+        int getTablesTotal();
+        int getTablesDone();
+        int getTablesFailed();
+        double getElapsedSeconds();
+        double getRowsPerSecond();
+        long getEtaSeconds();
+    }
+
+    // JMX 속성 (테이블별)
+    public interface TableMBean {
+        String getTable();
+        String getState();
+        long getRows();
+        long getEstimatedRows();
+        long getBytes();
+        long getBatches();
+        long getErrors();
+        double getMeanLatencyMillis();
+        double getMaxLatencyMillis();
+        double getMeanBatchRows();
+    }
+
+    // 고정 구간 히스토그램 (기록은 여러 스레드에서 동시에)
+    static class Histogram {
+        final long[] bounds;
+        final AtomicLongArray counts;
+        final LongAdder sum = new LongAdder();
+        final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+        Histogram(long[] bounds) {
+            this.bounds = bounds;
+            this.counts = new AtomicLongArray(bounds.length + 1);
+        }
+
+        void record(long value) {
+            int bucket = 0;
+            while (bucket < bounds.length && value > bounds[bucket]) {
+                bucket++;
+            }
+            counts.incrementAndGet(bucket);
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        long count() {
+            long count = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                count += counts.get(i);
+            }
+            return count;
+        }
+
+        double mean() {
+            long count = count();
+            return count == 0 ? 0 : (double) sum.sum() / count;
+        }
+    }
+
+    // 테이블 하나의 계측값
+    static class Table implements TableMBean {
+        final String name;
+        final long estimatedRows;
+        final LongAdder rows = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAdder batches = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final Histogram latency = new Histogram(LATENCY_BUCKETS);
+        final Histogram batchRows = new Histogram(BATCH_BUCKETS);
+        volatile int state = STATE_PENDING;
+
+        Table(String name, long estimatedRows) {
+            this.name = name;
+            this.estimatedRows = estimatedRows;
+        }
+
+        // executeBatch 등 왕복 한 번 (지연 나노초, 처리한 행 수)
+        void recordBatch(long nanos, int batchSize) {
+            latency.record(nanos);
+            batchRows.record(batchSize);
+            batches.increment();
+            rows.add(batchSize);
+        }
+
+        @Override public String getTable() { return name; }
+        @Override public String getState() { return STATE_NAMES[state]; }
+        @Override public long getRows() { return rows.sum(); }
+        @Override public long getEstimatedRows() { return estimatedRows; }
+        @Override public long getBytes() { return bytes.sum(); }
+        @Override public long getBatches() { return batches.sum(); }
+        @Override public long getErrors() { return errors.sum(); }
+        @Override public double getMeanLatencyMillis() { return latency.mean() / 1e6; }
+        @Override public double getMaxLatencyMillis() { return latency.max.get() / 1e6; }
+        @Override public double getMeanBatchRows() { return batchRows.mean(); }
+    }
+
+    // 추출 행 루프용 (스레드 하나에서만 사용)
+    // data.next() 대신 progress.next(data): fetchSize 행마다 한 번 오는 왕복만 시간을 재고, 행 수는 모아서 반영
+    static final class Progress {
+        private static final int PUBLISH_ROWS = 1024;
+
+        private final Table table;
+        private final int fetchSize;
+        // 왕복마다 부하 조절 (없으면 null)
+        private final OraThrottle.Worker throttle;
+        private int sinceFetch;
+        private int unpublished;
+
+        Progress(Table table, int fetchSize) {
+            this(table, fetchSize, null);
+        }
+
+        Progress(Table table, int fetchSize, OraThrottle.Worker throttle) {
+            this.table = table;
+            // 0 이면 드라이버 기본값 (Oracle 10)
+            this.fetchSize = fetchSize > 0 ? fetchSize : 10;
+            this.throttle = throttle;
+        }
+
+        // 계측 없이 행만 넘김 (벤치마크 등)
+        static Progress none() {
+            return new Progress(null, 0, null);
+        }
+
+        boolean next(ResultSet data) throws SQLException {
+            if (table == null) {
+                return data.next();
+            }
+            boolean more;
+            if (++sinceFetch > fetchSize) {
+                // 앞서 받은 행을 다 썼으므로 이번 next() 는 서버 왕복
+                sinceFetch = 1;
+                if (throttle != null) {
+                    // 다 쓴 묶음만큼 한도 적용 후 왕복
+                    throttle.pass(fetchSize, 0);
+                }
+                long start = System.nanoTime();
+                more = data.next();
+                table.latency.record(System.nanoTime() - start);
+                table.batches.increment();
+            } else {
+                more = data.next();
+            }
+            if (more && ++unpublished == PUBLISH_ROWS) {
+                table.rows.add(PUBLISH_ROWS);
+                unpublished = 0;
+            }
+            return more;
+        }
+
+        // 쿼리 실행 (첫 fetch 포함) 왕복
+        void executed(long nanos) {
+            if (table != null) {
+                table.latency.record(nanos);
+                table.batches.increment();
+            }
+        }
+
+        // 남은 행 수 반영 (추출이 끝나거나 실패한 뒤), 마지막 묶음도 한도에 포함
+        void finish() {
+            if (table != null && unpublished > 0) {
+                table.rows.add(unpublished);
+                unpublished = 0;
+            }
+            if (throttle != null && sinceFetch > 0) {
+                throttle.pass(sinceFetch, 0);
+                sinceFetch = 0;
+            }
+        }
+    }
+
+    private final String job;
+    private final String environment;
+    private final String logFileName;
+    private final String latencyMetric;
+    private final File prometheusFile;
+    private final boolean jmx;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Table> tables = new ConcurrentHashMap<>();
+    private final List<ObjectName> registered = new ArrayList<>();
+    private final ScheduledExecutorService reporter;
+
+    private OraMetrics(String job, String environment, String logFileName, File prometheusFile, boolean jmx, int intervalSeconds) {
+        this.job = job;
+        this.environment = environment;
+        this.logFileName = logFileName;
+        this.latencyMetric = "backup".equals(job) ? "oraback_fetch_latency_seconds" : "oraback_execute_latency_seconds";
+        this.prometheusFile = prometheusFile;
+        this.jmx = jmx;
+
+        if (jmx) {
+            register(objectName(capitalize(job) + "Job", environment), new StandardMBean(jobMBean(), JobMBean.class, false));
+        }
+        if (intervalSeconds > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "oraback-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            reporter = null;
+        }
+    }
+
+    // job: backup 또는 restore
+    static OraMetrics start(Properties config, String job, String environment, String logFileName) {
+        String prometheusPath = config.getProperty("metrics.prometheus.file", "").trim();
+        return new OraMetrics(job, environment, logFileName,
+                prometheusPath.isEmpty() ? null : new File(prometheusPath),
+                Boolean.parseBoolean(config.getProperty("metrics.jmx", "true").trim()),
+                Integer.parseInt(config.getProperty("metrics.interval.seconds", "10").trim()));
+    }
+
+    // 작업 대상 테이블 등록 (estimatedRows: all_tables.num_rows, 모르면 0), 작업 시작 스레드에서 호출
+    Table table(String tableName, long estimatedRows) {
+        Table table = tables.get(tableName);
+        if (table == null) {
+            table = new Table(tableName, estimatedRows);
+            tables.put(tableName, table);
+            if (jmx) {
+                register(objectName(capitalize(job) + "Table", tableName), new StandardMBean(table, TableMBean.class, false));
+            }
+        }
+        return table;
+    }
+
+    Table table(String tableName) {
+        return tables.get(tableName);
+    }
+
+    Progress progress(String tableName, int fetchSize, OraThrottle.Worker throttle) {
+        return new Progress(tables.get(tableName), fetchSize, throttle);
+    }
+
+    // 모든 테이블의 왕복 지연 합계(나노초)와 횟수 (부하 조절용)
+    double[] latencyTotals() {
+        double sum = 0;
+        long count = 0;
+        for (Table table : tables.values()) {
+            sum += table.latency.sum.sum();
+            count += table.latency.count();
+        }
+        return new double[] { sum, count };
+    }
+
+    // 다른 구성 요소의 MBean (com.agadev:type=<Backup|Restore><kind>, name=<환경>), 작업이 끝나면 해제
+    void register(String kind, Object mbean) {
+        if (jmx) {
+            register(objectName(capitalize(job) + kind, environment), mbean);
+        }
+    }
+
+    void running(String tableName) {
+        setState(tableName, STATE_RUNNING);
+    }
+
+    void done(String tableName) {
+        setState(tableName, STATE_DONE);
+    }
+
+    void failed(String tableName) {
+        setState(tableName, STATE_FAILED);
+    }
+
+    // 실패한 테이블/조각 수
+    void error(String tableName) {
+        Table table = tables.get(tableName);
+        if (table != null) {
+            table.errors.increment();
+        }
+    }
+
+    private void setState(String tableName, int state) {
+        Table table = tables.get(tableName);
+        if (table != null) {
+            table.state = state;
+        }
+    }
+
+    // 실패한 테이블이 있는지
+    boolean hasFailures() {
+        return countState(STATE_FAILED) > 0;
+    }
+
+    // 테이블별 all_tables.num_rows (통계가 없으면 0)
+    static Map<String, Long> numRows(Connection conn, Collection<String> tableNames) throws SQLException {
+        Map<String, Long> numRows = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT table_name, NVL(num_rows, 0) FROM all_tables"
+                     + " WHERE owner = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')")) {
+            while (rs.next()) {
+                if (tableNames.contains(rs.getString(1))) {
+                    numRows.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+        }
+        return numRows;
+    }
+
+    // 보고 중지, 마지막 진행 로그와 Prometheus 파일 기록, MBean 해제
+    @Override
+    public void close() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+        }
+        report();
+        if (jmx) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName name : registered) {
+                try {
+                    server.unregisterMBean(name);
+                } catch (Exception e) {
+                    // 이미 해제됨
+                }
+            }
+        }
+    }
+
+    private void report() {
+        try {
+            LogUtil.log(logFileName, progressLine());
+            if (prometheusFile != null) {
+                writePrometheus();
+            }
+        } catch (Exception e) {
+            // 계측 실패가 작업을 멈추지 않도록 기록만
+            LogUtil.log(logFileName, "Error writing metrics: " + e.getMessage());
+        }
+    }
+
+    // 예: Progress: 1200000 of ~5000000 rows (24.0%), 3/10 tables done, 45000 rows/s, 120.5 MB, ETA 0:01:24
+    String progressLine() {
+        JobMBean totals = jobMBean();
+        long estimated = totals.getEstimatedRows();
+        long eta = totals.getEtaSeconds();
+        StringBuilder line = new StringBuilder();
+        line.append(capitalize(job)).append(" progress: ").append(totals.getRows());
+        if (estimated > 0) {
+            line.append(" of ~").append(estimated)
+                    .append(String.format(" rows (%.1f%%)", Math.min(100.0, 100.0 * totals.getRows() / estimated)));
+        } else {
+            line.append(" rows");
+        }
+        line.append(", ").append(totals.getTablesDone()).append('/').append(totals.getTablesTotal()).append(" tables done");
+        if (totals.getTablesFailed() > 0) {
+            line.append(", ").append(totals.getTablesFailed()).append(" failed");
+        }
+        line.append(String.format(", %.0f rows/s, %.1f MB", totals.getRowsPerSecond(), totals.getBytes() / 1048576.0));
+        if (eta >= 0) {
+            line.append(String.format(", ETA %d:%02d:%02d", eta / 3600, eta / 60 % 60, eta % 60));
+        }
+        return line.toString();
+    }
+
+    // 작업 전체 합계 (조회 시점에 테이블별 값을 더함)
+    private JobMBean jobMBean() {
+        return new JobMBean() {
+            @Override public String getJob() { return job; }
+            @Override public String getEnvironment() { return environment; }
+
+            @Override
+            public long getRows() {
+                long rows = 0;
+                for (Table table : tables.values()) {
+                    rows += table.rows.sum();
+                }
+                return rows;
+            }
+
+            @Override
+            public long getEstimatedRows() {
+                long estimated = 0;
+                for (Table table : tables.values()) {
+                    estimated += table.estimatedRows;
+                }
+                return estimated;
+            }
+
+            @Override
+            public long getBytes() {
+                long bytes = 0;
+                for (Table table : tables.values()) {
+                    bytes += table.bytes.sum();
+                }
+                return bytes;
+            }
+
+            @Override
+            public long getErrors() {
+                long errors = 0;
+                for (Table table : tables.values()) {
+                    errors += table.errors.sum();
+                }
+                return errors;
+            }
+
+            @Override public int getTablesTotal() { return tables.size(); }
+            @Override public int getTablesDone() { return countState(STATE_DONE); }
+            @Override public int getTablesFailed() { return countState(STATE_FAILED); }
+            @Override public double getElapsedSeconds() { return (System.nanoTime() - startNanos) / 1e9; }
+
+            @Override
+            public double getRowsPerSecond() {
+                double elapsed = getElapsedSeconds();
+                return elapsed > 0 ? getRows() / elapsed : 0;
+            }
+
+            // 끝나지 않은 테이블의 남은 예상 행 수 / 지금까지의 처리 속도 (통계가 없거나 시작 전이면 -1)
+            @Override
+            public long getEtaSeconds() {
+                long remaining = 0;
+                boolean known = false;
+                for (Table table : tables.values()) {
+                    if (table.state < STATE_DONE && table.estimatedRows > 0) {
+                        remaining += Math.max(0, table.estimatedRows - table.rows.sum());
+                        known = true;
+                    }
+                }
+                double rate = getRowsPerSecond();
+                if (!known) {
+                    return !tables.isEmpty() && countState(STATE_DONE) + countState(STATE_FAILED) == tables.size() ? 0 : -1;
+                }
+                return rate > 0 ? (long) Math.ceil(remaining / rate) : -1;
+            }
+        };
+    }
+
+    private int countState(int state) {
+        int count = 0;
+        for (Table table : tables.values()) {
+            if (table.state == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Prometheus 텍스트 형식 (임시 파일에 쓴 뒤 교체해 수집기가 반쯤 쓴 파일을 읽지 않도록)
+    private void writePrometheus() throws IOException {
+        StringBuilder text = new StringBuilder();
+        String jobLabels = "job=\"" + job + "\",environment=\"" + escape(environment) + "\"";
+        JobMBean totals = jobMBean();
+
+        gauge(text, "oraback_elapsed_seconds", "Seconds since the job started.", jobLabels, totals.getElapsedSeconds());
+        gauge(text, "oraback_eta_seconds", "Estimated seconds to completion from all_tables.num_rows, -1 if unknown.",
+                jobLabels, totals.getEtaSeconds());
+        header(text, "oraback_tables", "gauge", "Tables by state.");
+        for (int state = 0; state < STATE_NAMES.length; state++) {
+            sample(text, "oraback_tables", jobLabels + ",state=\"" + STATE_NAMES[state] + "\"", countState(state));
+        }
+
+        List<Table> sorted = new ArrayList<>(tables.values());
+        sorted.sort((a, b) -> a.name.compareTo(b.name));
+
+        header(text, "oraback_rows_total", "counter", "Rows read from the database or inserted.");
+        for (Table table : sorted) {
+            sample(text, "oraback_rows_total", tableLabels(jobLabels, table), table.rows.sum());
+        }
+        header(text, "oraback_estimated_rows", "gauge", "all_tables.num_rows at job start.");
+        for (Table table : sorted) {
+            sample(text, "oraback_estimated_rows", tableLabels(jobLabels, table), table.estimatedRows);
+        }
+        header(text, "oraback_bytes_total", "counter", "Backup file bytes written or read.");
+        for (Table table : sorted) {
+            sample(text, "oraback_bytes_total", tableLabels(jobLabels, table), table.bytes.sum());
+        }
+        header(text, "oraback_batches_total", "counter", "Fetch round trips or executed batches.");
+        for (Table table : sorted) {
+            sample(text, "oraback_batches_total", tableLabels(jobLabels, table), table.batches.sum());
+        }
+        header(text, "oraback_errors_total", "counter", "Failed tables or chunks.");
+        for (Table table : sorted) {
+            sample(text, "oraback_errors_total", tableLabels(jobLabels, table), table.errors.sum());
+        }
+
+        header(text, latencyMetric, "histogram", "backup".equals(job) ? "Fetch round trip latency." : "executeBatch latency.");
+        for (Table table : sorted) {
+            histogram(text, latencyMetric, tableLabels(jobLabels, table), table.latency, 1e9);
+        }
+        if (!"backup".equals(job)) {
+            header(text, "oraback_batch_rows", "histogram", "Rows per executed batch.");
+            for (Table table : sorted) {
+                histogram(text, "oraback_batch_rows", tableLabels(jobLabels, table), table.batchRows, 1);
+            }
+        }
+
+        File parent = prometheusFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        File temp = new File(prometheusFile.getPath() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(text.toString());
+        }
+        try {
+            Files.move(temp.toPath(), prometheusFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), prometheusFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String tableLabels(String jobLabels, Table table) {
+        return jobLabels + ",table=\"" + escape(table.name) + "\"";
+    }
+
+    private static void header(StringBuilder text, String name, String type, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void gauge(StringBuilder text, String name, String help, String labels, double value) {
+        header(text, name, "gauge", help);
+        sample(text, name, labels, value);
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, double value) {
+        text.append(name).append('{').append(labels).append("} ");
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            text.append((long) value);
+        } else {
+            text.append(value);
+        }
+        text.append('\n');
+    }
+
+    // 누적 버킷 (le), _sum, _count (scale: 기록 단위를 출력 단위로 나눌 값)
+    private static void histogram(StringBuilder text, String name, String labels, Histogram histogram, double scale) {
+        long cumulative = 0;
+        for (int i = 0; i < histogram.bounds.length; i++) {
+            cumulative += histogram.counts.get(i);
+            sample(text, name + "_bucket", labels + ",le=\"" + formatBound(histogram.bounds[i] / scale) + "\"", cumulative);
+        }
+        cumulative += histogram.counts.get(histogram.bounds.length);
+        sample(text, name + "_bucket", labels + ",le=\"+Inf\"", cumulative);
+        sample(text, name + "_sum", labels, histogram.sum.sum() / scale);
+        sample(text, name + "_count", labels, cumulative);
+    }
+
+    private static String formatBound(double bound) {
+        return new BigDecimal(Double.toString(bound)).stripTrailingZeros().toPlainString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static ObjectName objectName(String type, String name) {
+        try {
+            return new ObjectName("com.agadev:type=" + type + ",name=" + ObjectName.quote(name));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid MBean name: " + type + " " + name, e);
+        }
+    }
+
+    // 같은 이름이 이미 있으면 (같은 JVM 에서 다시 실행) 교체
+    private void register(ObjectName name, Object mbean) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mbean, name);
+            synchronized (registered) {
+                registered.add(name);
+            }
+        } catch (Exception e) {
+            LogUtil.log(logFileName, "Error registering MBean: " + name + " - " + e.getMessage());
+        }
+    }
+}
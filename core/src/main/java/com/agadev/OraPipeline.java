@@ -0,0 +1,352 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 파이프라인 추출 (pipeline.enabled=true)
+//
+//   fetch  : 조회 결과를 읽어 값 배치로 채움 (JDBC 왕복, Java 21 이상이면 가상 스레드)
+//   encode : 배치를 포맷별 writer 로 인코딩하고 압축 (작업 스레드 풀, backup.threads 개)
+//   write  : 압축된 버퍼를 파일에 기록 (파일마다 전용 기록 스레드)
+//
+// 단계 사이는 크기가 정해진 큐 (pipeline.queue.batches 개 배치, pipeline.write.queue 개 256KB 버퍼)라서
+// 뒤 단계가 느리면 앞 단계가 기다림. 배치는 재사용하므로 행마다 할당하지 않음
+// LOB 이나 드라이버 고유 타입 컬럼이 있는 테이블은 기존처럼 한 스레드에서 순차 추출
+public class OraPipeline {
+
+    private final boolean enabled;
+    private final int queueBatches;
+    private final int batchRows;
+    private final int writeQueue;
+    private final ThreadFactory fetchThreads;
+
+    OraPipeline(boolean enabled, int queueBatches, int batchRows, int writeQueue, boolean virtualThreads) {
+        this.enabled = enabled;
+        this.queueBatches = Math.max(1, queueBatches);
+        this.batchRows = batchRows;
+        this.writeQueue = Math.max(1, writeQueue);
+        this.fetchThreads = fetchThreadFactory(virtualThreads);
+    }
+
+    static OraPipeline fromConfig(Properties config) {
+        return new OraPipeline(
+                Boolean.parseBoolean(config.getProperty("pipeline.enabled", "false").trim()),
+                Integer.parseInt(config.getProperty("pipeline.queue.batches", "4").trim()),
+                Integer.parseInt(config.getProperty("pipeline.batch.rows", "0").trim()),
+                Integer.parseInt(config.getProperty("pipeline.write.queue", "4").trim()),
+                Boolean.parseBoolean(config.getProperty("pipeline.virtual.threads", "true").trim()));
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean accepts(OraRowCodec codec) {
+        return enabled && codec.prefetchable();
+    }
+
+    String describe() {
+        return "fetch queue " + queueBatches + " batches, write queue " + writeQueue + " buffers, "
+                + (isVirtual(fetchThreads) ? "virtual" : "platform") + " fetch threads";
+    }
+
+    // 압축은 인코딩 스레드에서, 파일 기록은 전용 스레드에서
+    OutputStream open(File file, String codec, int level) throws IOException {
+        return OraCompression.openPipelineOutput(file, codec, level, writeQueue);
+    }
+
+    // fetch 단계 시작: 전용 스레드가 data 를 끝까지 읽어 배치로 넘기고, 반환값으로 인코딩 단계에서 읽음
+    // (progress 는 fetch 스레드에서만 사용, 닫으면 fetch 스레드가 끝날 때까지 대기)
+    Fetcher fetch(ResultSet data, OraRowCodec codec, int fetchSize, OraMetrics.Progress progress) {
+        int rows = batchRows > 0 ? batchRows : Math.max(fetchSize, 100);
+        return new Fetcher(data, codec, rows, queueBatches, progress, fetchThreads);
+    }
+
+    // Java 21 이상이면 Thread.ofVirtual() (리플렉션, Java 8 로 컴파일), 아니면 데몬 플랫폼 스레드
+    static ThreadFactory fetchThreadFactory(boolean virtual) {
+        if (virtual) {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "oraback-fetch-", 0L);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // 가상 스레드를 쓸 수 없는 런타임
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "oraback-fetch-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static boolean isVirtual(ThreadFactory factory) {
+        try {
+            Thread probe = factory.newThread(() -> { });
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(probe);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    // 컬럼별 값 배열 (정수/실수는 박싱 없이 long 배열)
+    static final class Batch {
+        final long[][] primitives;
+        final Object[][] values;
+        final boolean[][] nulls;
+        int size;
+
+        // 종료 표시
+        private Batch() {
+            primitives = new long[0][];
+            values = new Object[0][];
+            nulls = new boolean[0][];
+        }
+
+        Batch(OraRowCodec codec, int rows) {
+            primitives = new long[codec.columnCount][];
+            values = new Object[codec.columnCount][];
+            nulls = new boolean[codec.columnCount][];
+            for (int i = 0; i < codec.columnCount; i++) {
+                if (isPrimitive(codec.kinds[i])) {
+                    primitives[i] = new long[rows];
+                    nulls[i] = new boolean[rows];
+                } else {
+                    values[i] = new Object[rows];
+                }
+            }
+        }
+
+        // 현재 행을 배치 끝에 복사
+        void read(ResultSet data, OraRowCodec codec) throws SQLException {
+            int row = size;
+            for (int i = 0; i < codec.columnCount; i++) {
+                switch (codec.kinds[i]) {
+                    case LONG:
+                        primitives[i][row] = data.getLong(i + 1);
+                        nulls[i][row] = data.wasNull();
+                        break;
+                    case DOUBLE:
+                        primitives[i][row] = Double.doubleToRawLongBits(data.getDouble(i + 1));
+                        nulls[i][row] = data.wasNull();
+                        break;
+                    case DECIMAL:
+                        values[i][row] = data.getBigDecimal(i + 1);
+                        break;
+                    case TIMESTAMP:
+                        values[i][row] = data.getTimestamp(i + 1);
+                        break;
+                    case BINARY:
+                        values[i][row] = data.getBytes(i + 1);
+                        break;
+                    default:
+                        values[i][row] = data.getString(i + 1);
+                        break;
+                }
+            }
+            size++;
+        }
+
+        private static boolean isPrimitive(OraRowCodec.Kind kind) {
+            return kind == OraRowCodec.Kind.LONG || kind == OraRowCodec.Kind.DOUBLE;
+        }
+    }
+
+    // 인코딩 단계에서 보는 조회 결과: fetch 스레드가 채운 배치를 차례로 읽음
+    static final class Fetcher implements OraRows, AutoCloseable {
+        private static final Batch END = new Batch();
+
+        private final ResultSet data;
+        private final OraRowCodec codec;
+        private final int batchRows;
+        private final OraMetrics.Progress progress;
+        // 빈 배치 (queueBatches + 1 개를 돌려 씀, 다 쓰이면 fetch 가 대기 = 배압)
+        private final BlockingQueue<Batch> free;
+        private final BlockingQueue<Batch> full;
+        private final Thread fetchThread;
+        private volatile Throwable failure;
+        private volatile boolean stopped;
+
+        private Batch current;
+        private int row;
+        private boolean lastNull;
+        private boolean finished;
+
+        Fetcher(ResultSet data, OraRowCodec codec, int batchRows, int queueBatches, OraMetrics.Progress progress, ThreadFactory threads) {
+            this.data = data;
+            this.codec = codec;
+            this.batchRows = batchRows;
+            this.progress = progress;
+            this.free = new ArrayBlockingQueue<>(queueBatches + 1);
+            this.full = new ArrayBlockingQueue<>(queueBatches + 2);
+            for (int i = 0; i <= queueBatches; i++) {
+                free.add(new Batch(codec, batchRows));
+            }
+            this.fetchThread = threads.newThread(this::fetch);
+            this.fetchThread.start();
+        }
+
+        private void fetch() {
+            try {
+                boolean more = true;
+                while (more) {
+                    Batch batch = null;
+                    while (batch == null) {
+                        if (stopped) {
+                            return;
+                        }
+                        batch = free.poll(100, TimeUnit.MILLISECONDS);
+                    }
+                    batch.size = 0;
+                    while (batch.size < batchRows && (more = progress.next(data))) {
+                        batch.read(data, codec);
+                    }
+                    if (batch.size > 0) {
+                        full.put(batch);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                // full 은 모든 배치 + 종료 표시를 담을 수 있어 막히지 않음
+                full.offer(END);
+            }
+        }
+
+        @Override
+        public OraRowCodec codec() {
+            return codec;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            if (current != null && ++row < current.size) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            if (current != null) {
+                free.offer(current);
+            }
+            try {
+                current = full.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for fetched rows", e);
+            }
+            row = 0;
+            if (current == END) {
+                current = null;
+                finished = true;
+                Throwable e = failure;
+                if (e != null) {
+                    throw new SQLException("Fetch failed: " + e.getMessage(), e);
+                }
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean wasNull() {
+            return lastNull;
+        }
+
+        @Override
+        public long getLong(int index) {
+            lastNull = current.nulls[index - 1][row];
+            return current.primitives[index - 1][row];
+        }
+
+        @Override
+        public double getDouble(int index) {
+            lastNull = current.nulls[index - 1][row];
+            return Double.longBitsToDouble(current.primitives[index - 1][row]);
+        }
+
+        @Override
+        public String getString(int index) {
+            return (String) value(index);
+        }
+
+        @Override
+        public BigDecimal getBigDecimal(int index) {
+            return (BigDecimal) value(index);
+        }
+
+        @Override
+        public Timestamp getTimestamp(int index) {
+            return (Timestamp) value(index);
+        }
+
+        @Override
+        public Object getObject(int index) {
+            if (current.primitives[index - 1] == null) {
+                return value(index);
+            }
+            if (codec.kinds[index - 1] == OraRowCodec.Kind.LONG) {
+                long number = getLong(index);
+                return lastNull ? null : (Object) number;
+            }
+            double number = getDouble(index);
+            return lastNull ? null : (Object) number;
+        }
+
+        // RAW 만 미리 읽음 (LOB 컬럼은 파이프라인에서 제외)
+        @Override
+        public byte[] getBytes(int index) throws SQLException {
+            if (codec.kinds[index - 1] == OraRowCodec.Kind.BINARY) {
+                return (byte[]) value(index);
+            }
+            throw new SQLFeatureNotSupportedException("Column " + codec.names[index - 1] + " is not prefetched");
+        }
+
+        @Override
+        public Reader getCharacterStream(int index) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Column " + codec.names[index - 1] + " is not prefetched");
+        }
+
+        @Override
+        public InputStream getBinaryStream(int index) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Column " + codec.names[index - 1] + " is not prefetched");
+        }
+
+        private Object value(int index) {
+            Object value = current.values[index - 1][row];
+            lastNull = value == null;
+            return value;
+        }
+
+        // 인코딩이 중간에 실패해도 fetch 스레드를 멈추고 끝날 때까지 대기 (그 뒤에 커서를 닫음)
+        // interrupt 는 쓰지 않음 (소켓 I/O 중인 가상 스레드를 interrupt 하면 커넥션 소켓이 닫힘)
+        @Override
+        public void close() throws SQLException {
+            stopped = true;
+            try {
+                fetchThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while stopping fetch", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.agadev;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 최대 개수가 정해진 간단한 JDBC 커넥션 풀
+public class OraPool implements AutoCloseable {
+
+    private final String jdbcUrl;
+    private final Properties connectionProperties;
+    private final int maxSize;
+
+    private final BlockingQueue<Connection> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile boolean closed;
+
+    public OraPool(String jdbcUrl, String username, String password, int maxSize) {
+        this(jdbcUrl, username, password, new Properties(), maxSize);
+    }
+
+    // extraProperties: 드라이버 연결 속성 (예: oracle.jdbc.defaultLobPrefetchSize)
+    public OraPool(String jdbcUrl, String username, String password, Properties extraProperties, int maxSize) {
+        this.jdbcUrl = jdbcUrl;
+        this.connectionProperties = new Properties();
+        this.connectionProperties.putAll(extraProperties);
+        if (username != null) {
+            this.connectionProperties.setProperty("user", username);
+        }
+        if (password != null) {
+            this.connectionProperties.setProperty("password", password);
+        }
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    // 놀고 있는 커넥션을 꺼내거나, 한도 안이면 새로 연결, 한도에 닿으면 반납될 때까지 대기
+    public Connection take() throws SQLException, InterruptedException {
+        while (true) {
+            if (closed) {
+                throw new SQLException("Connection pool is closed");
+            }
+            Connection conn = idle.poll();
+            if (conn != null) {
+                return conn;
+            }
+            if (created.incrementAndGet() <= maxSize) {
+                try {
+                    return DriverManager.getConnection(jdbcUrl, connectionProperties);
+                } catch (SQLException e) {
+                    created.decrementAndGet();
+                    throw e;
+                }
+            }
+            created.decrementAndGet();
+            // 버려진 커넥션 자리가 생길 수 있으므로 주기적으로 다시 확인
+            conn = idle.poll(1, TimeUnit.SECONDS);
+            if (conn != null) {
+                return conn;
+            }
+        }
+    }
+
+    // 커넥션 반납 (끊어진 커넥션은 버리고 자리를 비워 둠)
+    public void release(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        boolean usable;
+        try {
+            usable = !closed && !conn.isClosed();
+            if (usable && !conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            usable = false;
+        }
+        if (usable) {
+            idle.offer(conn);
+        } else {
+            closeQuietly(conn);
+            created.decrementAndGet();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection conn;
+        while ((conn = idle.poll()) != null) {
+            closeQuietly(conn);
+            created.decrementAndGet();
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            // 이미 끊어진 커넥션
+        }
+    }
+}
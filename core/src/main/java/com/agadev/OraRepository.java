@@ -0,0 +1,526 @@
+package com.agadev;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+// 백업 저장소 (repository.dir 이 있으면 사용): 실행마다 전체 사본 대신 내용 기준 조각으로 중복 없이 보관
+//
+//   <repository.dir>/chunks/<해시 앞 2자리>/<SHA-256>   조각 (내용이 같으면 한 번만 기록)
+//   <repository.dir>/runs/<yyyyMMdd-HHmmss>-<확장자>.run  실행 manifest (파일마다 조각 목록, 순서대로)
+//   <repository.dir>/checkout/<실행>/                      복원용으로 조각을 이어 붙인 파일
+//
+// 백업이 실패 없이 끝나면 output.dir 의 파일을 조각으로 나눠 저장 (gear 해시 기반 가변 길이 조각이라
+// 앞쪽에 행이 추가/삭제되어도 뒤쪽 조각은 그대로 -> 어제와 같은 데이터는 manifest 한 줄만 늘어남)
+// repository.keep.runs 보다 오래된 manifest 는 지우고, 쓰지 않는 조각은 gc 명령으로 정리
+// 압축한 파일(compression.codec)은 한 곳만 바뀌어도 뒤가 모두 달라지므로 중복 제거가 거의 안 됨
+public class OraRepository {
+
+    static final String RUN_SUFFIX = ".run";
+    private static final String COMPLETE_MARKER = ".checkout-complete";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // 조각 경계용 바이트별 난수 (실행마다 같아야 하므로 고정 시드)
+    private static final long[] GEAR = new long[256];
+
+    static {
+        long seed = 0x6f72616261636bL;
+        for (int i = 0; i < GEAR.length; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            long z = seed;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            GEAR[i] = z ^ (z >>> 31);
+        }
+    }
+
+    private final File root;
+    private final int minChunk;
+    private final int maxChunk;
+    private final long boundaryMask;
+    private final int keepRuns;
+    private final String restoreRun;
+    private final long gcGraceMillis;
+
+    OraRepository(File root, int averageChunkKb, int keepRuns, String restoreRun, long gcGraceHours) {
+        this.root = root;
+        // 평균 크기는 2의 거듭제곱으로 (해시 상위 bits 개가 모두 0 이면 경계)
+        int bits = 31 - Integer.numberOfLeadingZeros(Math.max(4, averageChunkKb) * 1024);
+        this.minChunk = (1 << bits) / 4;
+        this.maxChunk = (1 << bits) * 4;
+        this.boundaryMask = ((1L << bits) - 1) << (64 - bits);
+        this.keepRuns = keepRuns;
+        this.restoreRun = restoreRun;
+        this.gcGraceMillis = gcGraceHours * 3600 * 1000;
+    }
+
+    static OraRepository fromConfig(Properties config) {
+        String dir = config.getProperty("repository.dir", "").trim();
+        return new OraRepository(dir.isEmpty() ? null : new File(dir),
+                Integer.parseInt(config.getProperty("repository.chunk.avg.kb", "64").trim()),
+                Integer.parseInt(config.getProperty("repository.keep.runs", "30").trim()),
+                config.getProperty("repository.restore.run", "").trim(),
+                Long.parseLong(config.getProperty("repository.gc.grace.hours", "24").trim()));
+    }
+
+    boolean isEnabled() {
+        return root != null;
+    }
+
+    // 복원할 때 src.dir 대신 저장소의 실행을 꺼내 씀 (repository.restore.run: latest 또는 실행 이름)
+    boolean restoresFromRepository() {
+        return root != null && !restoreRun.isEmpty();
+    }
+
+    // 조각 하나 (SHA-256 16진수, 바이트 수)
+    static class ChunkRef {
+        final String hash;
+        final int length;
+
+        ChunkRef(String hash, int length) {
+            this.hash = hash;
+            this.length = length;
+        }
+    }
+
+    // 실행 manifest 의 파일 하나
+    static class StoredFile {
+        final String name;
+        final long size;
+        final List<ChunkRef> chunks;
+
+        StoredFile(String name, long size, List<ChunkRef> chunks) {
+            this.name = name;
+            this.size = size;
+            this.chunks = chunks;
+        }
+    }
+
+    // output.dir 의 파일을 모두 저장하고 실행 manifest 기록, 오래된 manifest 정리 (실행 이름 반환)
+    String store(File dir, String extension, String logFileName) throws IOException {
+        File[] files = dir.listFiles(File::isFile);
+        if (files == null) {
+            throw new IOException("Cannot list output directory: " + dir);
+        }
+        Arrays.sort(files);
+
+        long start = System.nanoTime();
+        long[] stats = new long[3];  // 새 조각 수, 새 조각 바이트, 다시 쓴 조각 수
+        long totalBytes = 0;
+        List<StoredFile> stored = new ArrayList<>();
+        for (File file : files) {
+            stored.add(storeFile(file, stats));
+            totalBytes += file.length();
+        }
+
+        String run = newRunName(extension);
+        writeRun(runFile(run), stored);
+        LogUtil.log(logFileName, "Stored run " + run + " in repository " + root + ": " + stored.size() + " files, "
+                + megabytes(totalBytes) + " MB, " + stats[0] + " new chunks (" + megabytes(stats[1]) + " MB), "
+                + stats[2] + " chunks already stored, in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        pruneRuns(extension, logFileName);
+        return run;
+    }
+
+    // 내용 기준으로 자름: minChunk 이후 gear 해시의 상위 비트가 모두 0 이거나 maxChunk 에 닿으면 경계
+    private StoredFile storeFile(File file, long[] stats) throws IOException {
+        List<ChunkRef> chunks = new ArrayList<>();
+        byte[] chunk = new byte[maxChunk];
+        byte[] buffer = new byte[BUFFER_SIZE];
+        MessageDigest digest = sha256();
+        int length = 0;
+        long hash = 0;
+        long size = 0;
+        try (InputStream input = new FileInputStream(file)) {
+            int n;
+            while ((n = input.read(buffer)) > 0) {
+                size += n;
+                for (int i = 0; i < n; i++) {
+                    byte b = buffer[i];
+                    chunk[length++] = b;
+                    if (length < minChunk) {
+                        continue;
+                    }
+                    hash = (hash << 1) + GEAR[b & 0xff];
+                    if ((hash & boundaryMask) == 0 || length == maxChunk) {
+                        chunks.add(putChunk(chunk, length, digest, stats));
+                        length = 0;
+                        hash = 0;
+                    }
+                }
+            }
+        }
+        if (length > 0) {
+            chunks.add(putChunk(chunk, length, digest, stats));
+        }
+        return new StoredFile(file.getName(), size, chunks);
+    }
+
+    // 없는 조각만 기록 (임시 파일에 쓴 뒤 이름 변경), 있는 조각은 수정 시각만 갱신 (gc 유예 기간)
+    private ChunkRef putChunk(byte[] chunk, int length, MessageDigest digest, long[] stats) throws IOException {
+        digest.reset();
+        digest.update(chunk, 0, length);
+        String hash = toHex(digest.digest());
+        File target = chunkFile(hash);
+        if (target.exists() && target.length() == length) {
+            target.setLastModified(System.currentTimeMillis());
+            stats[2]++;
+            return new ChunkRef(hash, length);
+        }
+        File parent = target.getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        File temp = File.createTempFile(hash, ".tmp", parent);
+        try {
+            try (OutputStream output = new FileOutputStream(temp)) {
+                output.write(chunk, 0, length);
+            }
+            moveReplacing(temp, target);
+        } finally {
+            temp.delete();
+        }
+        stats[0]++;
+        stats[1] += length;
+        return new ChunkRef(hash, length);
+    }
+
+    // 실행을 꺼내 복원 디렉토리로 반환 (조각을 순서대로 이어 붙이며 해시 확인, 이미 꺼낸 실행은 그대로 사용)
+    File checkout(String extension, String logFileName) throws IOException {
+        String run = "latest".equalsIgnoreCase(restoreRun) ? latestRun(extension) : restoreRun;
+        if (run == null) {
+            throw new IOException("No ." + extension + " backup run in repository: " + root);
+        }
+        File runFile = runFile(run);
+        if (!runFile.exists()) {
+            throw new IOException("Backup run not found in repository: " + runFile);
+        }
+        File dir = new File(new File(root, "checkout"), run);
+        File marker = new File(dir, COMPLETE_MARKER);
+        if (marker.exists()) {
+            LogUtil.log(logFileName, "Using checked out backup run " + run + " in " + dir);
+            return dir;
+        }
+
+        long start = System.nanoTime();
+        deleteTree(dir);
+        dir.mkdirs();
+        List<StoredFile> files = readRun(runFile);
+        // 조각 크기 설정이 바뀌었을 수 있으므로 가장 큰 조각 기준
+        int largest = 0;
+        for (StoredFile file : files) {
+            for (ChunkRef ref : file.chunks) {
+                largest = Math.max(largest, ref.length);
+            }
+        }
+        byte[] buffer = new byte[largest];
+        MessageDigest digest = sha256();
+        long totalBytes = 0;
+        for (StoredFile file : files) {
+            try (OutputStream output = new FileOutputStream(new File(dir, file.name))) {
+                for (ChunkRef ref : file.chunks) {
+                    output.write(buffer, 0, readChunk(ref, buffer, digest, file.name));
+                }
+            }
+            totalBytes += file.size;
+        }
+        if (!marker.createNewFile()) {
+            throw new IOException("Cannot create checkout marker: " + marker);
+        }
+        LogUtil.log(logFileName, "Checked out backup run " + run + " to " + dir + ": " + files.size() + " files, "
+                + megabytes(totalBytes) + " MB in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return dir;
+    }
+
+    private int readChunk(ChunkRef ref, byte[] buffer, MessageDigest digest, String fileName) throws IOException {
+        File file = chunkFile(ref.hash);
+        if (!file.exists() || file.length() != ref.length) {
+            throw new IOException("Chunk " + ref.hash + " of " + fileName + " is missing or has the wrong size");
+        }
+        try (InputStream input = new FileInputStream(file)) {
+            int read = 0;
+            while (read < ref.length) {
+                int n = input.read(buffer, read, ref.length - read);
+                if (n < 0) {
+                    throw new IOException("Chunk " + ref.hash + " of " + fileName + " is truncated");
+                }
+                read += n;
+            }
+        }
+        digest.reset();
+        digest.update(buffer, 0, ref.length);
+        if (!ref.hash.equals(toHex(digest.digest()))) {
+            throw new IOException("Chunk " + ref.hash + " of " + fileName + " is corrupt (hash mismatch)");
+        }
+        return ref.length;
+    }
+
+    // 남아 있는 manifest 어디에도 없는 조각과 지워진 실행의 checkout 삭제
+    // 유예 기간 안에 기록/재사용된 조각은 남김 (동시에 실행 중인 백업이 아직 manifest 를 쓰지 않았을 수 있음)
+    void gc(String logFileName) throws IOException {
+        Set<String> referenced = new HashSet<>();
+        Set<String> runs = new HashSet<>();
+        int missing = 0;
+        for (String run : listRuns(null)) {
+            runs.add(run);
+            for (StoredFile file : readRun(runFile(run))) {
+                for (ChunkRef ref : file.chunks) {
+                    if (referenced.add(ref.hash) && !chunkFile(ref.hash).exists()) {
+                        missing++;
+                        LogUtil.log(logFileName, "Missing chunk " + ref.hash + " referenced by run " + run + " (" + file.name + ")");
+                    }
+                }
+            }
+        }
+
+        long cutoff = System.currentTimeMillis() - gcGraceMillis;
+        long deleted = 0;
+        long freedBytes = 0;
+        long kept = 0;
+        File[] prefixes = new File(root, "chunks").listFiles(File::isDirectory);
+        for (File prefix : prefixes == null ? new File[0] : prefixes) {
+            File[] chunks = prefix.listFiles(File::isFile);
+            for (File chunk : chunks == null ? new File[0] : chunks) {
+                if (referenced.contains(chunk.getName())) {
+                    kept++;
+                } else if (chunk.lastModified() < cutoff) {
+                    long length = chunk.length();
+                    if (chunk.delete()) {
+                        deleted++;
+                        freedBytes += length;
+                    }
+                }
+            }
+        }
+
+        File[] checkouts = new File(root, "checkout").listFiles(File::isDirectory);
+        for (File checkout : checkouts == null ? new File[0] : checkouts) {
+            if (!runs.contains(checkout.getName())) {
+                deleteTree(checkout);
+                LogUtil.log(logFileName, "Removed checkout of deleted run " + checkout.getName());
+            }
+        }
+        LogUtil.log(logFileName, "Repository gc: " + runs.size() + " runs, " + kept + " chunks in use, " + deleted + " chunks deleted ("
+                + megabytes(freedBytes) + " MB freed)" + (missing > 0 ? ", " + missing + " referenced chunks missing" : ""));
+        if (missing > 0) {
+            throw new IOException(missing + " chunks referenced by retained runs are missing");
+        }
+    }
+
+    // 실행 목록 (이름순 = 시간순)
+    void list(String logFileName) throws IOException {
+        for (String run : listRuns(null)) {
+            long size = 0;
+            int chunks = 0;
+            List<StoredFile> files = readRun(runFile(run));
+            for (StoredFile file : files) {
+                size += file.size;
+                chunks += file.chunks.size();
+            }
+            LogUtil.log(logFileName, "Run " + run + ": " + files.size() + " files, " + megabytes(size) + " MB in " + chunks + " chunks");
+        }
+    }
+
+    // 같은 확장자의 실행 중 최근 keepRuns 개만 남김 (0 이면 모두 남김)
+    private void pruneRuns(String extension, String logFileName) {
+        if (keepRuns <= 0) {
+            return;
+        }
+        List<String> runs = listRuns(extension);
+        for (int i = 0; i < runs.size() - keepRuns; i++) {
+            if (runFile(runs.get(i)).delete()) {
+                LogUtil.log(logFileName, "Removed backup run " + runs.get(i) + " (repository.keep.runs=" + keepRuns + "), run gc to free its chunks");
+            }
+        }
+    }
+
+    private String latestRun(String extension) {
+        List<String> runs = listRuns(extension);
+        return runs.isEmpty() ? null : runs.get(runs.size() - 1);
+    }
+
+    // extension 이 null 이면 모든 실행
+    private List<String> listRuns(String extension) {
+        List<String> runs = new ArrayList<>();
+        File[] files = new File(root, "runs").listFiles((d, name) -> name.endsWith(RUN_SUFFIX));
+        for (File file : files == null ? new File[0] : files) {
+            String run = file.getName().substring(0, file.getName().length() - RUN_SUFFIX.length());
+            if (extension == null || run.endsWith("-" + extension)) {
+                runs.add(run);
+            }
+        }
+        runs.sort(null);
+        return runs;
+    }
+
+    private String newRunName(String extension) {
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        String run = stamp + "-" + extension;
+        for (int i = 2; runFile(run).exists(); i++) {
+            run = stamp + "." + i + "-" + extension;
+        }
+        return run;
+    }
+
+    private File runFile(String run) {
+        return new File(new File(root, "runs"), run + RUN_SUFFIX);
+    }
+
+    private File chunkFile(String hash) {
+        return new File(new File(new File(root, "chunks"), hash.substring(0, 2)), hash);
+    }
+
+    // 실행 manifest (탭 구분, 파일 이름은 맨 끝)
+    //   FILE  <바이트> <조각 수> <파일 이름>
+    //   <SHA-256> <바이트>                  (조각 수만큼, 순서대로)
+    private static void writeRun(File runFile, List<StoredFile> files) throws IOException {
+        File dir = runFile.getParentFile();
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        File temp = File.createTempFile(runFile.getName(), ".tmp", dir);
+        try {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8))) {
+                writer.write("# oraback repository run\n");
+                for (StoredFile file : files) {
+                    writer.write("FILE\t" + file.size + "\t" + file.chunks.size() + "\t" + file.name + "\n");
+                    for (ChunkRef ref : file.chunks) {
+                        writer.write(ref.hash + "\t" + ref.length + "\n");
+                    }
+                }
+            }
+            moveReplacing(temp, runFile);
+        } finally {
+            temp.delete();
+        }
+    }
+
+    static List<StoredFile> readRun(File runFile) throws IOException {
+        List<StoredFile> files = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(runFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", 4);
+                if (fields.length != 4 || !"FILE".equals(fields[0])) {
+                    throw new IOException("Invalid run manifest " + runFile + ": " + line);
+                }
+                int count = Integer.parseInt(fields[2]);
+                List<ChunkRef> chunks = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    String chunk = reader.readLine();
+                    String[] ref = chunk == null ? new String[0] : chunk.split("\t");
+                    if (ref.length != 2) {
+                        throw new IOException("Invalid run manifest " + runFile + ": missing chunks of " + fields[3]);
+                    }
+                    chunks.add(new ChunkRef(ref[0], Integer.parseInt(ref[1])));
+                }
+                files.add(new StoredFile(fields[3], Long.parseLong(fields[1]), chunks));
+            }
+        }
+        return files;
+    }
+
+    private static void moveReplacing(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException | AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteTree(File dir) {
+        File[] files = dir.listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            if (file.isDirectory()) {
+                deleteTree(file);
+            } else {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xf, 16);
+            hex[i * 2 + 1] = Character.forDigit(bytes[i] & 0xf, 16);
+        }
+        return new String(hex);
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f", bytes / 1048576.0);
+    }
+
+    // 저장소 관리: OraRepository <env> [gc|list]
+    public static void main(String[] args) {
+        String env = args[0].toString();
+        String command = args.length > 1 ? args[1] : "gc";
+
+        String environment = System.getProperty(env, "local");
+        String configFileName = "config_" + environment + ".properties";
+        String logFileName = "oraback_" + environment + ".log";
+
+        Properties config = new Properties();
+        try (InputStream input = new FileInputStream(configFileName)) {
+            config.load(input);
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error loading configuration file: " + configFileName);
+            e.printStackTrace();
+            return;
+        }
+
+        OraRepository repository = fromConfig(config);
+        if (!repository.isEnabled()) {
+            LogUtil.log(logFileName, "repository.dir is not set in " + configFileName);
+            return;
+        }
+        try {
+            if ("list".equals(command)) {
+                repository.list(logFileName);
+            } else if ("gc".equals(command)) {
+                repository.gc(logFileName);
+            } else {
+                LogUtil.log(logFileName, "Unknown repository command: " + command + " (gc, list)");
+            }
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error during repository " + command + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
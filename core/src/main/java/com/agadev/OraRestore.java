@@ -0,0 +1,115 @@
+package com.agadev;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class OraRestore {
+    public static void main(String[] args) {
+
+        String env = args[0];
+
+        // 실행 환경 (local, dev, prod)을 전달받음
+        String environment = System.getProperty(env, "local"); // 기본값: local
+        String configFileName = "config_" + environment + ".properties";
+        String logFileName = "oraRestore_" + environment + ".log";
+
+        LogUtil.log(logFileName, configFileName);
+
+        Properties config = new Properties();
+
+        // 환경 파일 읽기
+        try (InputStream input = new FileInputStream(configFileName)) {
+            config.load(input);
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error loading configuration file: " + configFileName);
+            e.printStackTrace();
+            return;
+        }
+
+        // 로그 레벨 (DEBUG 이면 행 단위 SQL 까지 기록)
+        LogUtil.setLevel(config.getProperty("log.level", "INFO"));
+
+        // 압축하지 않은 파일은 메모리 매핑해 읽음 (restore.mmap, 구간 크기 restore.mmap.window.mb)
+        boolean mmap = Boolean.parseBoolean(config.getProperty("restore.mmap", "true").trim());
+        int windowBytes = Integer.parseInt(config.getProperty("restore.mmap.window.mb", "64").trim()) << 20;
+
+        // 외래키 의존 순서대로 테이블별 복원 실행 (restore.threads 개수만큼 병렬)
+        OraRestoreJob.run(config, environment, logFileName, "txt",
+                mmap ? file -> openTextFile(file, windowBytes) : OraRestore::openTextFile);
+    }
+
+    // 압축하지 않은 파일은 OraMappedText, 압축 파일은 스트림으로 읽음
+    static OraRowSource openTextFile(File file, int windowBytes) throws IOException {
+        if (OraCompression.isCompressed(file)) {
+            return openTextFile(file);
+        }
+        return OraMappedText.open(file, windowBytes);
+    }
+
+    // 텍스트 파일을 한 줄씩 읽는 행 소스
+    static OraRowSource openTextFile(File file) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(OraCompression.openInput(file), StandardCharsets.UTF_8));
+        return new OraRowSource() {
+            @Override
+            public Map<String, Object> next() throws IOException {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) continue;
+                    return parseTextLineToMap(line);
+                }
+                return null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    // 텍스트 줄을 Map<String, Object>로 변환
+    static Map<String, Object> parseTextLineToMap(String line) {
+        Map<String, Object> map = new HashMap<>();
+        line = line.substring(1, line.length() - 1); // 중괄호 제거
+        String[] pairs = line.split(", ");
+        for (String pair : pairs) {
+            String[] keyValue = pair.split("=");
+            String key = keyValue[0];
+            // Map.toString() 은 NULL 을 "null" 로 기록
+            String value = keyValue.length > 1 && !"null".equals(keyValue[1]) ? keyValue[1] : null;
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    // INSERT 쿼리 생성 (값 포함, 배치 적재와 비교용)
+    static String buildInsertQueryWithValues(String tableName, Map<String, Object> row) {
+        StringBuilder query = new StringBuilder();
+
+        List<String> columns = new ArrayList<>(row.keySet());
+        List<String> values = new ArrayList<>();
+
+        for (String column : columns) {
+            Object value = row.get(column);
+            if (value == null || "null".equalsIgnoreCase(value.toString())) {
+                values.add("NULL");
+            } else if (value instanceof String) {
+                values.add("'" + value.toString().replace("'", "''") + "'");
+            } else {
+                values.add(value.toString());
+            }
+        }
+
+        query.append("INSERT INTO ").append(tableName).append(" (");
+        query.append(String.join(", ", columns));
+        query.append(") VALUES (");
+        query.append(String.join(", ", values));
+        query.append(")");
+
+        return query.toString();
+    }
+}
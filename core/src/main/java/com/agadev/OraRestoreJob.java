@@ -0,0 +1,500 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// 백업 디렉토리의 테이블들을 외래키 의존 순서에 맞춰 여러 커넥션으로 동시에 복원하는 공통 실행기
+//
+// 1) 기존 데이터는 자식 테이블부터 한 트랜잭션으로 삭제 (restore.mode=bulk 면 OraBulkLoad 참고)
+// 2) 부모 테이블 복원이 모두 끝난 테이블부터 restore.threads 개 작업 스레드로 적재
+// restore.mode=diff 면 기본키가 있는 테이블은 지우지 않고 달라진 행만 반영 (OraDiffRestore 참고)
+public class OraRestoreJob {
+
+    public static void run(Properties config, String environment, String logFileName, String extension, OraRowSource.Opener opener) {
+        // 환경 변수 가져오기
+        String jdbcUrl = config.getProperty("jdbc.url");
+        String username = config.getProperty("jdbc.username");
+        String password = config.getProperty("jdbc.password");
+        String srcDir = config.getProperty("src.dir");
+        int threads = Math.max(1, Integer.parseInt(config.getProperty("restore.threads", "1").trim()));
+        int batchSize = Integer.parseInt(config.getProperty("restore.batch.size", "1000").trim());
+        int commitInterval = Integer.parseInt(config.getProperty("restore.commit.interval", "0").trim());
+        int queueBatches = Integer.parseInt(config.getProperty("restore.queue.batches", "4").trim());
+        // 값 변환 스레드 수 (0 이면 읽기 스레드에서 변환)
+        int decodeThreads = Integer.parseInt(config.getProperty("restore.decode.threads", "0").trim());
+        OraBulkLoad bulk = OraBulkLoad.fromConfig(config);
+        OraDiffRestore diff = OraDiffRestore.fromConfig(config);
+        OraRepository repository = OraRepository.fromConfig(config);
+
+        // 백업 파일 디렉토리 (repository.restore.run 이면 저장소에서 꺼낸 실행)
+        File dir;
+        if (repository.restoresFromRepository()) {
+            try {
+                dir = repository.checkout(extension, logFileName);
+            } catch (IOException e) {
+                LogUtil.log(logFileName, "Error checking out backup run from repository: " + e.getMessage());
+                e.printStackTrace();
+                return;
+            }
+        } else {
+            dir = new File(srcDir);
+        }
+        if (!dir.exists() || !dir.isDirectory()) {
+            LogUtil.log(logFileName, "Input directory does not exist: " + dir.getPath());
+            return;
+        }
+
+        Map<String, List<File>> tableFiles = findBackupFiles(dir, extension, logFileName);
+        if (tableFiles.isEmpty()) {
+            LogUtil.log(logFileName, "No ." + extension + " backup files found in directory: " + dir.getPath());
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (OraPool pool = new OraPool(jdbcUrl, username, password, threads);
+             OraMetrics metrics = OraMetrics.start(config, "restore", environment, logFileName);
+             OraThrottle throttle = OraThrottle.start(config, metrics, logFileName);
+             OraJournal journal = OraJournal.open(OraJournal.restoreJournal(dir, extension), OraJournal.resumeRequested(config), logFileName)) {
+            List<OraBulkLoad.ForeignKey> disabledKeys = new ArrayList<>();
+            List<String> unusableIndexes = new ArrayList<>();
+            Map<String, OraDiffRestore.Plan> diffPlans = new HashMap<>();
+            // 모든 테이블의 OraRowStream 이 함께 쓰는 값 변환 풀
+            ExecutorService decodePool = decodeThreads > 0 ? Executors.newFixedThreadPool(decodeThreads) : null;
+            try {
+                Map<String, Set<String>> parents;
+                List<String> childrenFirst;
+                Connection conn = pool.take();
+                try {
+                    LogUtil.log(logFileName, "Connected to Oracle Database in " + environment + " environment.");
+
+                    // 진행률/ETA 기준 행 수 (기존 데이터를 지우기 전 통계)
+                    Map<String, Long> numRows = OraMetrics.numRows(conn, tableFiles.keySet());
+                    for (String tableName : tableFiles.keySet()) {
+                        metrics.table(tableName, numRows.getOrDefault(tableName, 0L));
+                    }
+
+                    // 외래키 의존 관계 (복원 대상 테이블끼리)
+                    parents = OraForeignKeys.parentsOf(conn, tableFiles.keySet());
+                    childrenFirst = new ArrayList<>(OraForeignKeys.parentsFirst(parents));
+                    Collections.reverse(childrenFirst);
+                    // 차등 복원할 수 있는 테이블은 지우지 않음
+                    if (diff.enabled) {
+                        for (String tableName : tableFiles.keySet()) {
+                            OraDiffRestore.Plan plan = OraDiffRestore.plan(conn, tableName);
+                            long rows = numRows.getOrDefault(tableName, 0L);
+                            if (plan != null && diff.maxRows > 0 && rows > diff.maxRows) {
+                                // 기본키 -> 해시 맵이 힙에 다 올라가지 않음
+                                LogUtil.log(logFileName, "Table " + tableName + " has " + rows + " rows, more than restore.diff.max.rows "
+                                        + diff.maxRows + ", restoring by DELETE + INSERT");
+                            } else if (plan != null) {
+                                diffPlans.put(tableName, plan);
+                            } else {
+                                LogUtil.log(logFileName, "Table " + tableName + " has no comparable primary key or has LOB columns, restoring by DELETE + INSERT");
+                            }
+                        }
+                        // 지울 부모를 참조하는 자식이 남아 있으면 부모 DELETE 가 ORA-02292 로 실패하므로
+                        // DELETE + INSERT 로 복원하는 부모의 자식도 DELETE + INSERT (손자까지, 순환 참조도 바뀌지 않을 때까지 반복)
+                        boolean downgraded = !bulk.disableConstraints;
+                        while (downgraded) {
+                            downgraded = false;
+                            for (String tableName : OraForeignKeys.parentsFirst(parents)) {
+                                if (!diffPlans.containsKey(tableName)) {
+                                    continue;
+                                }
+                                for (String parent : parents.get(tableName)) {
+                                    if (!diffPlans.containsKey(parent)) {
+                                        diffPlans.remove(tableName);
+                                        downgraded = true;
+                                        LogUtil.log(logFileName, "Table " + tableName + " references " + parent
+                                                + " which is restored by DELETE + INSERT, restoring it by DELETE + INSERT as well");
+                                        break;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                    List<String> deleteFirst = new ArrayList<>(childrenFirst);
+                    deleteFirst.removeIf(diffPlans::containsKey);
+                    // 이전 실행(job.resume)에서 적재를 시작한 테이블은 지우지 않고 이어서 적재
+                    deleteFirst.removeIf(journal::restoreStarted);
+
+                    // 대량 적재: 외래키를 끄면 순서 제약 없이 모든 테이블을 동시에 적재
+                    if (bulk.disableConstraints) {
+                        disabledKeys.addAll(OraBulkLoad.disableForeignKeys(conn, tableFiles.keySet(), logFileName));
+                        for (Set<String> tableParents : parents.values()) {
+                            tableParents.clear();
+                        }
+                    }
+                    if (bulk.unusableIndexes) {
+                        unusableIndexes.addAll(OraBulkLoad.markIndexesUnusable(conn, tableFiles.keySet(), logFileName));
+                    }
+                    if (bulk.truncate) {
+                        OraBulkLoad.truncateTables(conn, deleteFirst, logFileName);
+                    } else {
+                        deleteExistingRows(conn, deleteFirst, logFileName);
+                    }
+                } finally {
+                    pool.release(conn);
+                }
+
+                // direct-path INSERT 뒤에는 같은 트랜잭션에서 테이블을 다시 쓸 수 없으므로 배치마다 커밋
+                int loadBatchSize = bulk.append ? bulk.batchSize : batchSize;
+                int loadCommitInterval = bulk.append ? loadBatchSize : commitInterval;
+                String hint = bulk.insertHint();
+
+                LogUtil.log(logFileName, "Restoring " + tableFiles.size() + " tables with " + threads + " worker(s)"
+                        + (bulk.enabled ? " in bulk mode" : "")
+                        + (diff.enabled ? ", " + diffPlans.size() + " by differential MERGE" : ""));
+                // 차등 복원에서 파일에 없던 DB 행 (모든 테이블 반영 후 자식 테이블부터 삭제)
+                Map<String, List<Object[]>> staleRows = new ConcurrentHashMap<>();
+                int[] counts = restoreInDependencyOrder(threads, parents, tableFiles, (tableName, files) -> {
+                    long tableStart = System.nanoTime();
+                    Connection workerConn = null;
+                    long restoredRows = journal.restoredRows(tableName);
+                    if (restoredRows >= 0) {
+                        LogUtil.log(logFileName, "Skipping table already restored: " + tableName + " (" + restoredRows + " rows)");
+                        metrics.done(tableName);
+                        return true;
+                    }
+                    metrics.running(tableName);
+                    OraThrottle.Worker worker = throttle.worker();
+                    try {
+                        workerConn = pool.take();
+                        LogUtil.log(logFileName, "Processing table: " + tableName);
+                        OraDiffRestore.Plan diffPlan = diffPlans.get(tableName);
+                        if (diffPlan != null) {
+                            restoreDifferential(workerConn, diffPlan, files, dir, extension, opener, batchSize, queueBatches,
+                                    diff.maxRows, metrics.table(tableName), worker, staleRows, logFileName);
+                            for (File file : files) {
+                                metrics.table(tableName).bytes.add(file.length());
+                            }
+                            metrics.done(tableName);
+                            LogUtil.log(logFileName, String.format("Restored table: %s (differential, %.1f s)", tableName,
+                                    (System.nanoTime() - tableStart) / 1e9));
+                            return true;
+                        }
+                        long committedRows = journal.committedRows(tableName);
+                        if (committedRows > 0) {
+                            // 저널은 DB 커밋 뒤에 기록하므로 그 사이에 중단되면 저널이 DB 보다 뒤처짐
+                            // 적재 전에 비운 테이블이므로 지금 행 수가 실제로 커밋된 행 수 (변경분 적용 중 중단이면 백업보다 많을 수 있음)
+                            long counted = countRows(workerConn, tableName);
+                            if (counted != committedRows) {
+                                LogUtil.log(logFileName, "Journal recorded " + committedRows + " committed rows for table: " + tableName
+                                        + " but it has " + counted + " rows, resuming after " + counted);
+                                committedRows = counted;
+                            }
+                        }
+                        long inserted;
+                        // 컬럼 타입은 테이블마다 한 번 조회, 값 변환은 변환 풀(없으면 읽기 스레드)에서
+                        OraBatchInsert.TableColumns columns = OraBatchInsert.describe(workerConn, tableName);
+                        try (OraRowStream rows = new OraRowStream(files, opener, OraTypeCodec.decoder(columns), decodePool, loadBatchSize,
+                                queueBatches, tableName, worker)) {
+                            // 이전 실행에서 커밋된 행은 읽고 버림 (파일의 행 순서는 항상 같음)
+                            if (committedRows > 0) {
+                                LogUtil.log(logFileName, "Resuming table: " + tableName + " after " + committedRows + " committed rows");
+                                long skipped = skipRows(rows, committedRows);
+                                if (skipped < committedRows) {
+                                    // 기본 백업은 모두 들어갔고 변경분(delta) 적용 중에 중단됨, 변경분은 기본키로 다시 적용
+                                    LogUtil.log(logFileName, "Backup of table: " + tableName + " has " + skipped
+                                            + " rows, all loaded, reapplying changes");
+                                    committedRows = skipped;
+                                }
+                            }
+                            long resumedRows = committedRows;
+                            inserted = insertRows(workerConn, tableName, columns, rows, loadBatchSize, loadCommitInterval, hint,
+                                    metrics.table(tableName), committed -> recordCommit(journal, tableName, resumedRows + committed),
+                                    logFileName);
+                        }
+                        if (loadCommitInterval == 0 || inserted % loadCommitInterval != 0) {
+                            recordCommit(journal, tableName, committedRows + inserted);
+                        }
+                        // 증분 백업이면 변경분(delta)을 순서대로 적용
+                        OraIncremental.applyDeltas(workerConn, dir, tableName, extension, opener, decodePool, batchSize, queueBatches, worker,
+                                logFileName);
+                        journal.recordRestored(tableName, committedRows + inserted);
+                        for (File file : files) {
+                            metrics.table(tableName).bytes.add(file.length());
+                        }
+                        metrics.done(tableName);
+                        LogUtil.log(logFileName, String.format("Restored table: %s (%d rows in %.1f s)", tableName, committedRows + inserted,
+                                (System.nanoTime() - tableStart) / 1e9));
+                        return true;
+                    } catch (Exception e) {
+                        metrics.error(tableName);
+                        metrics.failed(tableName);
+                        LogUtil.log(logFileName, "Error processing table: " + tableName + " - " + e.getMessage());
+                        e.printStackTrace();
+                        return false;
+                    } finally {
+                        pool.release(workerConn);
+                    }
+                }, logFileName);
+
+                if (diff.enabled && diff.delete) {
+                    counts[1] += deleteStaleRows(pool, childrenFirst, diffPlans, staleRows, batchSize, metrics, logFileName);
+                }
+
+                LogUtil.log(logFileName, String.format("Restore finished in %s environment: %d restored, %d failed, %d skipped in %.1f s",
+                        environment, counts[0], counts[1], counts[2], (System.nanoTime() - start) / 1e9));
+                // 실패가 없으면 다음 실행은 처음부터
+                if (counts[1] == 0 && counts[2] == 0) {
+                    journal.recordFinished();
+                }
+            } finally {
+                if (decodePool != null) {
+                    decodePool.shutdownNow();
+                }
+                // 적재가 실패해도 인덱스와 외래키는 원래대로
+                bulk.rebuildIndexes(pool, threads, unusableIndexes, logFileName);
+                bulk.enableForeignKeys(pool, threads, disabledKeys, logFileName);
+            }
+        } catch (Exception e) {
+            LogUtil.log(logFileName, "Error during restore process: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // 테이블 하나 복원 (성공 여부 반환)
+    interface TableRestore {
+        boolean restore(String tableName, List<File> files);
+    }
+
+    // 부모가 모두 성공한 테이블부터 제출, 부모가 실패하면 자손 테이블은 건너뜀
+    // 반환값: { 성공, 실패, 건너뜀 }
+    private static int[] restoreInDependencyOrder(int threads, Map<String, Set<String>> parents, Map<String, List<File>> tableFiles,
+                                                  TableRestore tableRestore, String logFileName) throws InterruptedException {
+        Map<String, List<String>> children = new HashMap<>();
+        Map<String, Integer> waiting = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : parents.entrySet()) {
+            waiting.put(entry.getKey(), entry.getValue().size());
+            for (String parent : entry.getValue()) {
+                children.computeIfAbsent(parent, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        CompletionService<Boolean> completion = new ExecutorCompletionService<>(workers);
+        Map<Future<Boolean>, String> running = new HashMap<>();
+        Set<String> started = new HashSet<>();
+        int[] counts = new int[3];
+        try {
+            for (String tableName : parents.keySet()) {
+                if (waiting.get(tableName) == 0) {
+                    submit(completion, running, started, tableName, tableFiles, tableRestore);
+                }
+            }
+
+            while (true) {
+                // 순환 참조로 더 진행할 수 없으면 남은 테이블은 부모를 기다리지 않고 복원
+                if (running.isEmpty()) {
+                    if (started.size() == parents.size()) {
+                        break;
+                    }
+                    for (String remaining : parents.keySet()) {
+                        if (!started.contains(remaining)) {
+                            LogUtil.log(logFileName, "Foreign key cycle, restoring without waiting for parent tables: " + remaining);
+                            submit(completion, running, started, remaining, tableFiles, tableRestore);
+                        }
+                    }
+                }
+
+                Future<Boolean> done = completion.take();
+                String tableName = running.remove(done);
+                boolean success;
+                try {
+                    success = done.get();
+                } catch (Exception e) {
+                    success = false;
+                }
+
+                if (success) {
+                    counts[0]++;
+                    for (String child : children.getOrDefault(tableName, Collections.<String>emptyList())) {
+                        if (waiting.merge(child, -1, Integer::sum) == 0 && !started.contains(child)) {
+                            submit(completion, running, started, child, tableFiles, tableRestore);
+                        }
+                    }
+                } else {
+                    counts[1]++;
+                    counts[2] += skipDescendants(tableName, children, started, logFileName);
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return counts;
+    }
+
+    private static void submit(CompletionService<Boolean> completion, Map<Future<Boolean>, String> running, Set<String> started,
+                               String tableName, Map<String, List<File>> tableFiles, TableRestore tableRestore) {
+        started.add(tableName);
+        List<File> files = tableFiles.get(tableName);
+        running.put(completion.submit(() -> tableRestore.restore(tableName, files)), tableName);
+    }
+
+    private static int skipDescendants(String tableName, Map<String, List<String>> children, Set<String> started, String logFileName) {
+        int skipped = 0;
+        for (String child : children.getOrDefault(tableName, Collections.<String>emptyList())) {
+            if (started.add(child)) {
+                LogUtil.log(logFileName, "Skipping table: " + child + " (parent table " + tableName + " was not restored)");
+                skipped += 1 + skipDescendants(child, children, started, logFileName);
+            }
+        }
+        return skipped;
+    }
+
+    // 기본 백업과 delta 를 이어서 DB 와 비교 (같은 키가 delta 에 다시 나오면 뒤의 값으로 MERGE)
+    private static void restoreDifferential(Connection conn, OraDiffRestore.Plan plan, List<File> files, File dir, String extension,
+                                            OraRowSource.Opener opener, int batchSize, int queueBatches, long maxRows,
+                                            OraMetrics.Table metrics, OraThrottle.Worker throttle, Map<String, List<Object[]>> staleRows, String logFileName) throws Exception {
+        long start = System.nanoTime();
+        Map<String, OraDiffRestore.Existing> existing = OraDiffRestore.loadExisting(conn, plan, batchSize, maxRows);
+        LogUtil.log(logFileName, String.format("Loaded %d row hashes from table: %s in %.1f s", existing.size(), plan.tableName,
+                (System.nanoTime() - start) / 1e9));
+
+        List<File> allFiles = new ArrayList<>(files);
+        allFiles.addAll(OraIncremental.deltaFiles(dir, plan.tableName, extension));
+        OraDiffRestore.Result result;
+        try (OraRowStream rows = new OraRowStream(allFiles, opener, batchSize, queueBatches, plan.tableName, throttle)) {
+            result = OraDiffRestore.apply(conn, plan, existing, rows, batchSize, metrics, logFileName);
+        }
+        if (!result.stale.isEmpty()) {
+            staleRows.put(plan.tableName, result.stale);
+        }
+        LogUtil.log(logFileName, "Merged " + result.merged + " changed rows into table: " + plan.tableName + " (" + result.unchanged
+                + " unchanged, " + result.stale.size() + " missing from backup)");
+    }
+
+    // 차등 복원 뒤 파일에 없던 행을 자식 테이블부터 삭제 (실패한 테이블 수 반환)
+    private static int deleteStaleRows(OraPool pool, List<String> childrenFirst, Map<String, OraDiffRestore.Plan> diffPlans,
+                                       Map<String, List<Object[]>> staleRows, int batchSize, OraMetrics metrics,
+                                       String logFileName) throws SQLException, InterruptedException {
+        int failed = 0;
+        Connection conn = pool.take();
+        try {
+            for (String tableName : childrenFirst) {
+                List<Object[]> stale = staleRows.get(tableName);
+                if (stale == null) {
+                    continue;
+                }
+                try {
+                    OraDiffRestore.deleteStale(conn, diffPlans.get(tableName), stale, batchSize, logFileName);
+                } catch (SQLException e) {
+                    failed++;
+                    metrics.error(tableName);
+                    metrics.failed(tableName);
+                    LogUtil.log(logFileName, "Error deleting rows missing from backup in table: " + tableName + " - " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            pool.release(conn);
+        }
+        return failed;
+    }
+
+    // 자식 테이블부터 기존 데이터 삭제 (하나라도 실패하면 모두 롤백)
+    private static void deleteExistingRows(Connection conn, List<String> childrenFirst, String logFileName) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            for (String tableName : childrenFirst) {
+                stmt.executeUpdate("DELETE FROM " + tableName);
+                LogUtil.log(logFileName, "Deleted existing data from table: " + tableName);
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // 파라미터 INSERT 배치 실행 (commitInterval 마다 중간 커밋, 오류 시 마지막 커밋 이후 롤백)
+    private static long insertRows(Connection conn, String tableName, OraBatchInsert.TableColumns columns, Iterator<Map<String, Object>> rows,
+                                   int batchSize, int commitInterval, String hint, OraMetrics.Table metrics,
+                                   OraBatchInsert.CommitListener listener, String logFileName) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            long inserted = OraBatchInsert.insertRows(conn, tableName, columns, rows, batchSize, commitInterval, hint, metrics, listener, logFileName);
+            conn.commit();
+            return inserted;
+        } catch (SQLException | RuntimeException e) {
+            // 파일 읽기 오류(OraRowStream)도 롤백
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void recordCommit(OraJournal journal, String tableName, long rows) throws SQLException {
+        try {
+            journal.recordCommit(tableName, rows);
+        } catch (IOException e) {
+            throw new SQLException("Error writing journal: " + journal.getFile().getName() + " - " + e.getMessage(), e);
+        }
+    }
+
+    // count 행을 읽고 버림 (파일이 먼저 끝나면 읽은 행 수 반환)
+    private static long skipRows(Iterator<Map<String, Object>> rows, long count) {
+        for (long i = 0; i < count; i++) {
+            if (!rows.hasNext()) {
+                return i;
+            }
+            rows.next();
+        }
+        return count;
+    }
+
+    private static long countRows(Connection conn, String tableName) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + tableName)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // 테이블명 -> 백업 파일 (조각 백업은 manifest 에 적힌 순서대로)
+    static Map<String, List<File>> findBackupFiles(File dir, String extension, String logFileName) {
+        File[] files = dir.listFiles((d, name) -> OraCompression.baseName(name).endsWith("." + extension));
+        File[] manifests = dir.listFiles((d, name) -> name.endsWith("." + extension + OraChunkManifest.SUFFIX));
+
+        Map<String, List<File>> tableFiles = new LinkedHashMap<>();
+        for (File file : files) {
+            String baseName = OraCompression.baseName(file.getName());
+            String tableName = baseName.substring(0, baseName.length() - extension.length() - 1).toUpperCase();
+            tableFiles.put(tableName, Collections.singletonList(file));
+        }
+        for (File manifest : manifests) {
+            try {
+                tableFiles.put(OraChunkManifest.tableNameOf(manifest, extension), OraChunkManifest.partFiles(manifest));
+            } catch (IOException e) {
+                LogUtil.log(logFileName, "Error reading chunk manifest: " + manifest.getName() + " - " + e.getMessage());
+            }
+        }
+        return tableFiles;
+    }
+}
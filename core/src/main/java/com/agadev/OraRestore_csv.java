@@ -0,0 +1,44 @@
+package com.agadev;
+
+import java.io.*;
+import java.sql.*;
+import java.util.*;
+
+public class OraRestore_csv {
+    public static void main(String[] args) {
+
+        String env = args[0];
+
+        // 실행 환경 (local, dev, prod)을 전달받음
+        String environment = System.getProperty(env, "local"); // 기본값: local
+        String configFileName = "config_" + environment + ".properties";
+        String logFileName = "oraRestore_" + environment + ".log";
+
+        LogUtil.log(logFileName, configFileName);
+
+        Properties config = new Properties();
+
+        // 환경 파일 읽기
+        try (InputStream input = new FileInputStream(configFileName)) {
+            config.load(input);
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error loading configuration file: " + configFileName);
+            e.printStackTrace();
+            return;
+        }
+
+        // 로그 레벨 (DEBUG 이면 행 단위 SQL 까지 기록)
+        LogUtil.setLevel(config.getProperty("log.level", "INFO"));
+
+        // 구분자 (백업과 같은 csv.delimiter)
+        char delimiter = OraCsvWriter.delimiterOf(config);
+
+        // 외래키 의존 순서대로 테이블별 복원 실행 (restore.threads 개수만큼 병렬)
+        OraRestoreJob.run(config, environment, logFileName, OraCsvWriter.extensionOf(delimiter), file -> openCsvFile(file, delimiter));
+    }
+
+    // 구분자 텍스트 백업 파일을 바이트 단위로 한 번에 파싱하는 행 소스 (값은 문자열)
+    static OraRowSource openCsvFile(File file, char delimiter) throws IOException {
+        return new OraCsvReader(OraCompression.openInput(file), delimiter);
+    }
+}
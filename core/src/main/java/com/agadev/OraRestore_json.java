@@ -0,0 +1,107 @@
+package com.agadev;
+
+import java.io.*;
+import java.sql.*;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+//import java.io.*;
+//import java.sql.*;
+//import java.util.*;
+
+public class OraRestore_json {
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) {
+
+    	String env = args[0].toString();
+		
+		// 실행 환경 (local, dev, prod)을 전달받음
+        String environment = System.getProperty(env, "local"); // 기본값: local
+        String configFileName = "config_" + environment + ".properties";
+        String logFileName = "oraRestore_" + environment + ".log";
+
+        LogUtil.log(logFileName, configFileName);
+
+        Properties config = new Properties();
+
+        // 환경 파일 읽기
+        try (InputStream input = new FileInputStream(configFileName)) {
+            config.load(input);
+        } catch (IOException e) {
+            LogUtil.log(logFileName, "Error loading configuration file: " + configFileName);
+            e.printStackTrace();
+            return;
+        }
+
+        // 로그 레벨 (DEBUG 이면 행 단위 SQL 까지 기록)
+        LogUtil.setLevel(config.getProperty("log.level", "INFO"));
+
+        // 외래키 의존 순서대로 테이블별 복원 실행 (restore.threads 개수만큼 병렬)
+        OraRestoreJob.run(config, environment, logFileName, "json", OraRestore_json::openJsonFile);
+    }
+
+    // JSON 배열을 토큰 단위로 읽어 객체 하나씩 반환하는 행 소스
+    static OraRowSource openJsonFile(File file) throws IOException {
+        JsonParser parser = JSON_MAPPER.getFactory().createParser(OraCompression.openInput(file));
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Expected a JSON array in " + file.getName());
+        }
+        return new OraRowSource() {
+            @Override
+            public Map<String, Object> next() throws IOException {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    return null;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a JSON object in " + file.getName() + " at " + parser.getCurrentLocation());
+                }
+                Map<String, Object> row = new LinkedHashMap<String, Object>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String columnName = parser.getCurrentName();
+                    row.put(columnName, readJsonValue(parser, parser.nextToken()));
+                }
+                return row;
+            }
+
+            @Override
+            public void close() throws IOException {
+                parser.close();
+            }
+        };
+    }
+
+    // 숫자는 정밀도를 잃지 않도록 정수 / BigDecimal 로 읽음
+    private static Object readJsonValue(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDecimalValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                // 중첩 객체/배열은 그대로 트리로 읽음
+                return parser.readValueAs(Object.class);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.agadev;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+// 조회 결과마다 한 번 만드는 행 코덱
+// 컬럼명과 타입별 읽기 방식을 미리 정해 두고, 포맷별 writer 는 행마다 ResultSet 에서 출력으로 바로 기록
+// (셀마다 metaData 조회, 행마다 Map 생성 없음)
+public class OraRowCodec {
+
+    // 타입별 읽기 방식
+    enum Kind {
+        STRING,     // getString
+        DECIMAL,    // getBigDecimal
+        LONG,       // getLong + wasNull (박싱 없음)
+        DOUBLE,     // getDouble + wasNull (박싱 없음)
+        TIMESTAMP,  // getTimestamp
+        CLOB,       // getCharacterStream / getString
+        BLOB,       // getBinaryStream / getBytes
+        BINARY,     // getBytes (RAW, LONG RAW)
+        OTHER       // getObject
+    }
+
+    final int columnCount;
+    final String[] names;
+    final int[] types;
+    final int[] precisions;
+    final int[] scales;
+    final boolean[] nullable;
+    final Kind[] kinds;
+
+    private OraRowCodec(String[] names, int[] types, int[] precisions, int[] scales, boolean[] nullable) {
+        this.columnCount = names.length;
+        this.names = names;
+        this.types = types;
+        this.precisions = precisions;
+        this.scales = scales;
+        this.nullable = nullable;
+        this.kinds = new Kind[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            kinds[i] = kindOf(types[i]);
+        }
+    }
+
+    static OraRowCodec of(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        String[] names = new String[columnCount];
+        int[] types = new int[columnCount];
+        int[] precisions = new int[columnCount];
+        int[] scales = new int[columnCount];
+        boolean[] nullable = new boolean[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = metaData.getColumnName(i + 1);
+            types[i] = metaData.getColumnType(i + 1);
+            precisions[i] = metaData.getPrecision(i + 1);
+            scales[i] = metaData.getScale(i + 1);
+            nullable[i] = metaData.isNullable(i + 1) != ResultSetMetaData.columnNoNulls;
+        }
+        return new OraRowCodec(names, types, precisions, scales, nullable);
+    }
+
+    // 모든 컬럼을 값으로 미리 읽어 둘 수 있는지 (LOB 은 커서에 묶인 locator 를 스트림으로 읽어야 하고,
+    // OTHER 는 드라이버 고유 객체라 파이프라인 추출에서 제외)
+    boolean prefetchable() {
+        for (Kind kind : kinds) {
+            if (kind == Kind.CLOB || kind == Kind.BLOB || kind == Kind.OTHER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Kind kindOf(int sqlType) {
+        switch (sqlType) {
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return Kind.STRING;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return Kind.DECIMAL;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return Kind.LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return Kind.DOUBLE;
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                return Kind.TIMESTAMP;
+            case Types.CLOB:
+            case Types.NCLOB:
+                return Kind.CLOB;
+            case Types.BLOB:
+                return Kind.BLOB;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return Kind.BINARY;
+            default:
+                return Kind.OTHER;
+        }
+    }
+
+    // HashMap.toString() 과 같은 컬럼 순서 (기존 txt 백업과 같은 모양을 유지하기 위해 한 번만 계산)
+    int[] hashMapOrder() {
+        Map<String, Integer> order = new HashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            order.put(names[i], i);
+        }
+        int[] indexes = new int[order.size()];
+        int position = 0;
+        for (Integer index : order.values()) {
+            indexes[position++] = index;
+        }
+        return indexes;
+    }
+
+    // CLOB 스트림을 writer 로 복사 (LOB 전체를 문자열로 만들지 않음)
+    static void copyText(Reader reader, Writer writer) throws IOException {
+        try (Reader clob = reader) {
+            char[] buffer = new char[8192];
+            int n;
+            while ((n = clob.read(buffer)) > 0) {
+                writer.write(buffer, 0, n);
+            }
+        }
+    }
+
+    // BLOB 스트림을 읽으며 Base64 로 writer 에 기록 (byte[] 와 인코딩 문자열을 만들지 않음)
+    static void copyBase64(InputStream input, Writer writer) throws IOException {
+        // Base64 는 ASCII 이므로 바이트를 그대로 문자로, close 는 writer 를 닫지 않음
+        OutputStream chars = new OutputStream() {
+            private final char[] buffer = new char[8192];
+
+            @Override
+            public void write(int b) throws IOException {
+                writer.write(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                while (length > 0) {
+                    int n = Math.min(length, buffer.length);
+                    for (int i = 0; i < n; i++) {
+                        buffer[i] = (char) bytes[offset + i];
+                    }
+                    writer.write(buffer, 0, n);
+                    offset += n;
+                    length -= n;
+                }
+            }
+        };
+        try (InputStream blob = input; OutputStream base64 = Base64.getEncoder().wrap(chars)) {
+            byte[] buffer = new byte[6144];
+            int n;
+            while ((n = blob.read(buffer)) > 0) {
+                base64.write(buffer, 0, n);
+            }
+        }
+    }
+}
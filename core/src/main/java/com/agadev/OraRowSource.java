@@ -0,0 +1,20 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+// 백업 파일에서 행을 하나씩 읽음 (파일 전체를 메모리에 올리지 않음)
+public interface OraRowSource extends AutoCloseable {
+
+    // 다음 행을 컬럼명 -> 값 맵으로 반환 (끝이면 null)
+    Map<String, Object> next() throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    // 포맷별로 백업 파일 하나를 엶
+    interface Opener {
+        OraRowSource open(File file) throws IOException;
+    }
+}
@@ -0,0 +1,195 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// 백업 파일(조각 파일은 순서대로)을 단계별로 나눠 복원 (추출 쪽 OraPipeline 과 같은 구성)
+//
+//   read   : 전용 스레드에서 파일을 파싱해 행 묶음으로 나눔
+//   decode : 묶음의 값을 컬럼 타입으로 변환 (decodePool 이 있으면 풀에서, 없으면 읽기 스레드에서)
+//   insert : 호출 스레드가 Iterator 로 꺼내 INSERT 배치에 사용
+//
+// 큐에는 묶음의 변환 결과(Future)를 넣은 순서대로 두므로 행 순서는 파일과 같고 (delta 는 뒤의 값이 이김, job.resume 은 행 수로 건너뜀),
+// 메모리는 큐 크기(queueBatches 개 묶음)로 제한
+public class OraRowStream implements Iterator<Map<String, Object>>, AutoCloseable {
+
+    // 행 하나를 적재할 값으로 변환 (OraTypeCodec.decoder)
+    interface Decoder {
+        Map<String, Object> decode(Map<String, Object> row, String fileName) throws IOException;
+    }
+
+    private static final List<Map<String, Object>> END = Collections.emptyList();
+    private static final Future<List<Map<String, Object>>> END_BATCH = CompletableFuture.completedFuture(END);
+
+    private final BlockingQueue<Future<List<Map<String, Object>>>> queue;
+    private final int batchRows;
+    // 값 변환 (없으면 파일 값 그대로), decodePool 이 null 이면 읽기 스레드에서 변환
+    private final Decoder decoder;
+    private final ExecutorService decodePool;
+    private final Thread readerThread;
+    // 묶음마다 부하 조절 (없으면 null)
+    private final OraThrottle.Worker throttle;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    private List<Map<String, Object>> current = new ArrayList<>();
+    private int position;
+    private boolean finished;
+
+    // queueBatches 개 묶음(묶음당 batchRows 행)까지만 미리 읽음
+    public OraRowStream(List<File> files, OraRowSource.Opener opener, int batchRows, int queueBatches, String name) {
+        this(files, opener, batchRows, queueBatches, name, null);
+    }
+
+    // throttle: 꺼낸 묶음의 행 수만큼 (바이트 한도가 있으면 읽은 값 길이도) 한도 적용
+    public OraRowStream(List<File> files, OraRowSource.Opener opener, int batchRows, int queueBatches, String name,
+                        OraThrottle.Worker throttle) {
+        this(files, opener, null, null, batchRows, queueBatches, name, throttle);
+    }
+
+    // decoder 로 값을 변환해 넘김 (decodePool 이 있으면 묶음마다 풀에서 변환해 파싱과 겹침)
+    public OraRowStream(List<File> files, OraRowSource.Opener opener, Decoder decoder, ExecutorService decodePool, int batchRows,
+                        int queueBatches, String name, OraThrottle.Worker throttle) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueBatches));
+        this.batchRows = Math.max(1, batchRows);
+        this.decoder = decoder;
+        this.decodePool = decodePool;
+        this.throttle = throttle;
+        this.readerThread = new Thread(() -> read(files, opener), "oraback-restore-reader-" + name);
+        this.readerThread.setDaemon(true);
+        this.readerThread.start();
+    }
+
+    private void read(List<File> files, OraRowSource.Opener opener) {
+        try {
+            List<Map<String, Object>> batch = new ArrayList<>(batchRows);
+            for (File file : files) {
+                try (OraRowSource source = opener.open(file)) {
+                    Map<String, Object> row;
+                    while ((row = source.next()) != null) {
+                        batch.add(row);
+                        if (batch.size() == batchRows) {
+                            put(batch, file.getName());
+                            batch = new ArrayList<>(batchRows);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new IOException("Error reading " + file.getName() + ": " + e.getMessage(), e);
+                }
+                // 묶음이 파일 하나의 행만 담도록 (변환 오류에 파일 이름이 나옴)
+                if (!batch.isEmpty()) {
+                    put(batch, file.getName());
+                    batch = new ArrayList<>(batchRows);
+                }
+            }
+            offer(END_BATCH);
+        } catch (InterruptedException e) {
+            // close() 로 중단
+        } catch (Throwable e) {
+            failure = e;
+            // 소비 측이 take 에서 막히지 않도록 종료 표시
+            queue.clear();
+            queue.offer(END_BATCH);
+        }
+    }
+
+    private void put(List<Map<String, Object>> batch, String fileName) throws IOException, InterruptedException {
+        if (throttle != null && throttle.limitsBytes()) {
+            long bytes = 0;
+            for (Map<String, Object> row : batch) {
+                bytes += OraThrottle.sizeOf(row);
+            }
+            throttle.pass(0, bytes);
+        }
+        if (decoder == null) {
+            offer(CompletableFuture.completedFuture(batch));
+        } else if (decodePool == null) {
+            offer(CompletableFuture.completedFuture(decode(batch, fileName)));
+        } else {
+            offer(decodePool.submit(() -> decode(batch, fileName)));
+        }
+    }
+
+    // 큐가 차 있으면 대기 (= 배압), 소비 측이 닫히면 중단
+    private void offer(Future<List<Map<String, Object>>> batch) throws InterruptedException {
+        while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            if (closed) {
+                batch.cancel(false);
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private List<Map<String, Object>> decode(List<Map<String, Object>> batch, String fileName) throws IOException {
+        for (int i = 0; i < batch.size(); i++) {
+            batch.set(i, decoder.decode(batch.get(i), fileName));
+        }
+        return batch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!finished && position == current.size()) {
+            if (throttle != null && !current.isEmpty()) {
+                throttle.pass(current.size(), 0);
+            }
+            try {
+                current = queue.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading backup rows", e);
+            } catch (ExecutionException e) {
+                // 변환 단계 오류
+                failure = e.getCause();
+                current = END;
+            }
+            position = 0;
+            if (current == END) {
+                finished = true;
+            }
+        }
+        if (finished && failure != null) {
+            throw new IllegalStateException(failure.getMessage(), failure);
+        }
+        return !finished;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        // 꺼낸 행은 바로 놓아 줌
+        Map<String, Object> row = current.get(position);
+        current.set(position++, null);
+        return row;
+    }
+
+    // 읽기 스레드를 멈추고 남은 묶음 정리 (아직 변환하지 않은 묶음은 취소)
+    @Override
+    public void close() {
+        closed = true;
+        for (Future<List<Map<String, Object>>> batch : queue) {
+            batch.cancel(false);
+        }
+        queue.clear();
+        try {
+            readerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.agadev;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+// 포맷별 writer 가 읽는 조회 결과 (ResultSet 중 writer 가 쓰는 접근자만, 컬럼 번호는 1부터)
+// 순차 추출은 ResultSet 을 그대로 감싸고 (of), 파이프라인 추출은 fetch 단계가 미리 읽어 둔 배치에서 읽음 (OraPipeline)
+public interface OraRows {
+
+    OraRowCodec codec();
+
+    boolean next() throws SQLException;
+
+    boolean wasNull() throws SQLException;
+
+    long getLong(int index) throws SQLException;
+
+    double getDouble(int index) throws SQLException;
+
+    String getString(int index) throws SQLException;
+
+    BigDecimal getBigDecimal(int index) throws SQLException;
+
+    Timestamp getTimestamp(int index) throws SQLException;
+
+    byte[] getBytes(int index) throws SQLException;
+
+    Reader getCharacterStream(int index) throws SQLException;
+
+    InputStream getBinaryStream(int index) throws SQLException;
+
+    Object getObject(int index) throws SQLException;
+
+    // ResultSet 을 같은 스레드에서 바로 읽음 (행은 progress.next(data) 로 넘김)
+    static OraRows of(ResultSet data, OraMetrics.Progress progress) throws SQLException {
+        return new Direct(data, OraRowCodec.of(data.getMetaData()), progress);
+    }
+
+    static OraRows of(ResultSet data, OraRowCodec codec, OraMetrics.Progress progress) {
+        return new Direct(data, codec, progress);
+    }
+
+    final class Direct implements OraRows {
+        private final ResultSet data;
+        private final OraRowCodec codec;
+        private final OraMetrics.Progress progress;
+
+        Direct(ResultSet data, OraRowCodec codec, OraMetrics.Progress progress) {
+            this.data = data;
+            this.codec = codec;
+            this.progress = progress;
+        }
+
+        @Override public OraRowCodec codec() { return codec; }
+        @Override public boolean next() throws SQLException { return progress.next(data); }
+        @Override public boolean wasNull() throws SQLException { return data.wasNull(); }
+        @Override public long getLong(int index) throws SQLException { return data.getLong(index); }
+        @Override public double getDouble(int index) throws SQLException { return data.getDouble(index); }
+        @Override public String getString(int index) throws SQLException { return data.getString(index); }
+        @Override public BigDecimal getBigDecimal(int index) throws SQLException { return data.getBigDecimal(index); }
+        @Override public Timestamp getTimestamp(int index) throws SQLException { return data.getTimestamp(index); }
+        @Override public byte[] getBytes(int index) throws SQLException { return data.getBytes(index); }
+        @Override public Reader getCharacterStream(int index) throws SQLException { return data.getCharacterStream(index); }
+        @Override public InputStream getBinaryStream(int index) throws SQLException { return data.getBinaryStream(index); }
+        @Override public Object getObject(int index) throws SQLException { return data.getObject(index); }
+    }
+}
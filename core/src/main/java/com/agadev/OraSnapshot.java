@@ -0,0 +1,157 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Properties;
+
+// 백업 전체를 한 시점으로 읽음 (snapshot.enabled=true)
+//
+// 작업 시작 때 SCN 을 한 번 잡고 모든 테이블/조각/변경분을 SELECT ... AS OF SCN 으로 읽으므로
+// backup.threads 를 늘려 여러 세션이 동시에 읽어도 모두 같은 시점 (테이블에 FLASHBACK 권한 필요)
+// SCN 은 <output.dir>/oraback-<확장자>.snapshot 과 조각 manifest 에 기록, job.resume 이면 이전 SCN 을 그대로 사용
+// 그 시점의 데이터는 undo 에서 읽으므로 undo 보존 시간이 예상 작업 시간보다 짧으면 시작 전에 실패 (ORA-01555 방지)
+public class OraSnapshot {
+
+    static final String SUFFIX = ".snapshot";
+
+    private final boolean enabled;
+    private final long expectedSeconds;
+    private final boolean checkUndo;
+    // 잡은 SCN (사용하지 않으면 null)
+    private final String scn;
+
+    OraSnapshot(boolean enabled, long expectedSeconds, boolean checkUndo, String scn) {
+        this.enabled = enabled;
+        this.expectedSeconds = expectedSeconds;
+        this.checkUndo = checkUndo;
+        this.scn = scn;
+    }
+
+    static OraSnapshot fromConfig(Properties config) {
+        return new OraSnapshot(
+                Boolean.parseBoolean(config.getProperty("snapshot.enabled", "false").trim()),
+                Long.parseLong(config.getProperty("snapshot.expected.minutes", "60").trim()) * 60,
+                Boolean.parseBoolean(config.getProperty("snapshot.undo.check", "true").trim()),
+                null);
+    }
+
+    static File snapshotFile(File dir, String extension) {
+        return new File(dir, "oraback-" + extension + SUFFIX);
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    String getScn() {
+        return scn;
+    }
+
+    // 테이블명 뒤에 붙일 조회 시점 (사용하지 않으면 빈 문자열)
+    String asOf() {
+        return scn == null ? "" : " AS OF SCN " + scn;
+    }
+
+    // SCN 을 잡고 undo 보존 시간을 확인한 뒤 기록 (이어서 하는 작업이면 이전 SCN 사용)
+    OraSnapshot pin(Connection conn, File dir, String extension, boolean resuming, String logFileName) throws SQLException, IOException {
+        File file = snapshotFile(dir, extension);
+        if (!enabled) {
+            // 이전 스냅샷 백업의 기록이 이번 백업의 것으로 보이지 않도록
+            file.delete();
+            return this;
+        }
+        Properties previous = resuming ? read(file) : null;
+        String pinned;
+        long ageSeconds = 0;
+        if (previous != null && previous.getProperty("scn") != null) {
+            pinned = previous.getProperty("scn");
+            ageSeconds = (System.currentTimeMillis() - Long.parseLong(previous.getProperty("captured.millis", "0"))) / 1000;
+            LogUtil.log(logFileName, "Resuming consistent snapshot at SCN " + pinned + " captured " + ageSeconds + " s ago");
+        } else {
+            pinned = currentScn(conn);
+            LogUtil.log(logFileName, "Consistent snapshot at SCN " + pinned + ", all tables are read AS OF this SCN");
+        }
+        if (checkUndo) {
+            checkUndoRetention(conn, pinned, ageSeconds, logFileName);
+        }
+        if (previous == null || !pinned.equals(previous.getProperty("scn"))) {
+            write(file, pinned);
+        }
+        return new OraSnapshot(true, expectedSeconds, checkUndo, pinned);
+    }
+
+    static String currentScn(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DBMS_FLASHBACK.GET_SYSTEM_CHANGE_NUMBER FROM DUAL")) {
+            rs.next();
+            return rs.getBigDecimal(1).toPlainString();
+        }
+    }
+
+    // 남은 작업 시간(이어서 하면 SCN 을 잡은 뒤 지난 시간 포함)이 undo 보존 시간 안에 들어와야 함
+    private void checkUndoRetention(Connection conn, String pinned, long ageSeconds, String logFileName) throws SQLException {
+        long retention;
+        try {
+            retention = undoRetentionSeconds(conn);
+        } catch (SQLException e) {
+            // v$ 뷰 권한이 없으면 확인하지 못함
+            LogUtil.log(logFileName, "Cannot read undo retention, skipping snapshot check - " + e.getMessage());
+            return;
+        }
+        long needed = ageSeconds + expectedSeconds;
+        if (needed > retention) {
+            throw new SQLException("Undo retention " + retention + " s is shorter than the snapshot needs (" + needed + " s = "
+                    + (ageSeconds > 0 ? ageSeconds + " s since SCN " + pinned + " + " : "")
+                    + "snapshot.expected.minutes " + expectedSeconds / 60 + " min)."
+                    + " Increase UNDO_RETENTION (and the undo tablespace), lower backup time, or set snapshot.enabled=false");
+        }
+        LogUtil.log(logFileName, "Undo retention " + retention + " s covers the expected snapshot time " + needed + " s");
+    }
+
+    // undo_retention 파라미터와 최근 자동 조정 값 중 큰 값 (초)
+    private static long undoRetentionSeconds(Connection conn) throws SQLException {
+        long retention;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT value FROM v$parameter WHERE name = 'undo_retention'")) {
+            retention = rs.next() ? Long.parseLong(rs.getString(1).trim()) : 0;
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(tuned_undoretention) FROM v$undostat WHERE end_time > SYSDATE - 1 / 24")) {
+            if (rs.next()) {
+                retention = Math.max(retention, rs.getLong(1));
+            }
+        }
+        return retention;
+    }
+
+    private static Properties read(File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        Properties snapshot = new Properties();
+        try (InputStream input = new FileInputStream(file)) {
+            snapshot.load(input);
+        }
+        return snapshot;
+    }
+
+    private static void write(File file, String scn) throws IOException {
+        long now = System.currentTimeMillis();
+        Properties snapshot = new Properties();
+        snapshot.setProperty("scn", scn);
+        snapshot.setProperty("captured", new Timestamp(now).toString());
+        snapshot.setProperty("captured.millis", String.valueOf(now));
+        try (OutputStream output = new FileOutputStream(file)) {
+            snapshot.store(output, "consistent backup snapshot (tables read AS OF SCN)");
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.agadev;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.StandardMBean;
+
+// 운영 DB 부하 조절: 작업 전체/작업 스레드별 행/초, MB/초 상한과 DB 상태에 따른 자동 감속
+//
+//   throttle.rows.per.second, throttle.mb.per.second                 작업 전체 상한 (0 이면 제한 없음)
+//   throttle.worker.rows.per.second, throttle.worker.mb.per.second   작업 스레드(테이블/조각) 하나의 상한
+//   throttle.latency.max.ms     최근 왕복(백업 fetch, 복원 executeBatch) 평균 지연이 넘으면 감속
+//   throttle.sysmetric.max      v$sysmetric 의 throttle.sysmetric 값(기본 Database Wait Time Ratio)이 넘으면 감속
+//
+// throttle.check.seconds 마다 확인해 넘으면 계수를 절반으로 (throttle.min.factor 까지), 아니면 0.1 씩 회복
+// 계수가 1 보다 작으면 상한에 계수를 곱하고, 작업 스레드는 왕복마다 (작업 시간 x (1/계수 - 1)) 만큼 쉼
+// 한도는 실행 중에 JMX (com.agadev:type=<Backup|Restore>Throttle) 나 throttle.file (수정되면 다시 읽음) 로 바꿀 수 있음
+// 바이트는 백업은 압축 전 기록 바이트, 복원은 읽은 값의 길이 (복원 바이트 한도가 있을 때만 계산)
+public class OraThrottle implements AutoCloseable {
+
+    // JMX 속성 (setter 로 실행 중 변경)
+    public interface ThrottleMBean {
+        double getRowsPerSecond();
+        void setRowsPerSecond(double value);
+        double getMegabytesPerSecond();
+        void setMegabytesPerSecond(double value);
+        double getWorkerRowsPerSecond();
+        void setWorkerRowsPerSecond(double value);
+        double getWorkerMegabytesPerSecond();
+        void setWorkerMegabytesPerSecond(double value);
+        double getLatencyMaxMillis();
+        void setLatencyMaxMillis(double value);
+        double getSysmetricMax();
+        void setSysmetricMax(double value);
+        double getFactor();
+        double getRecentLatencyMillis();
+        double getSysmetricValue();
+    }
+
+    private static final double MB = 1048576.0;
+    // 바이트 한도 확인 단위 (기록 스트림)
+    private static final int BYTES_STEP = 1 << 16;
+
+    private final String logFileName;
+    private final OraMetrics metrics;
+    private final Properties config;
+    private final String sysmetric;
+    private final double minFactor;
+    private final File limitsFile;
+    private final ScheduledExecutorService controller;
+
+    private volatile double rowsPerSecond;
+    private volatile double bytesPerSecond;
+    private volatile double workerRowsPerSecond;
+    private volatile double workerBytesPerSecond;
+    private volatile double latencyMaxMillis;
+    private volatile double sysmetricMax;
+    private volatile double factor = 1;
+    private volatile double recentLatencyMillis = -1;
+    private volatile double sysmetricValue = -1;
+
+    private final Rate jobRows = new Rate();
+    private final Rate jobBytes = new Rate();
+
+    // 아래는 조절 스레드에서만 사용
+    private long limitsModified;
+    private double latencySum;
+    private long latencyCount;
+    private OraPool sysmetricPool;
+    private boolean sysmetricFailed;
+
+    private OraThrottle(Properties config, OraMetrics metrics, String logFileName) {
+        this.logFileName = logFileName;
+        this.metrics = metrics;
+        this.config = config;
+        this.sysmetric = config.getProperty("throttle.sysmetric", "Database Wait Time Ratio").trim();
+        this.minFactor = Math.min(1, Math.max(0.01, Double.parseDouble(config.getProperty("throttle.min.factor", "0.1").trim())));
+        String path = config.getProperty("throttle.file", "").trim();
+        this.limitsFile = path.isEmpty() ? null : new File(path);
+        apply(config);
+
+        metrics.register("Throttle", new StandardMBean(mbean(), ThrottleMBean.class, false));
+        int checkSeconds = Math.max(1, Integer.parseInt(config.getProperty("throttle.check.seconds", "5").trim()));
+        controller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "oraback-throttle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        controller.scheduleWithFixedDelay(this::adjust, checkSeconds, checkSeconds, TimeUnit.SECONDS);
+    }
+
+    static OraThrottle start(Properties config, OraMetrics metrics, String logFileName) {
+        OraThrottle throttle = new OraThrottle(config, metrics, logFileName);
+        if (throttle.isLimited()) {
+            LogUtil.log(logFileName, "Throttle: " + throttle.describe());
+        }
+        return throttle;
+    }
+
+    private void apply(Properties limits) {
+        rowsPerSecond = number(limits, "throttle.rows.per.second", rowsPerSecond);
+        bytesPerSecond = number(limits, "throttle.mb.per.second", bytesPerSecond / MB) * MB;
+        workerRowsPerSecond = number(limits, "throttle.worker.rows.per.second", workerRowsPerSecond);
+        workerBytesPerSecond = number(limits, "throttle.worker.mb.per.second", workerBytesPerSecond / MB) * MB;
+        latencyMaxMillis = number(limits, "throttle.latency.max.ms", latencyMaxMillis);
+        sysmetricMax = number(limits, "throttle.sysmetric.max", sysmetricMax);
+    }
+
+    private static double number(Properties limits, String key, double current) {
+        String value = limits.getProperty(key);
+        return value == null || value.trim().isEmpty() ? current : Math.max(0, Double.parseDouble(value.trim()));
+    }
+
+    private boolean isLimited() {
+        return rowsPerSecond > 0 || bytesPerSecond > 0 || workerRowsPerSecond > 0 || workerBytesPerSecond > 0
+                || latencyMaxMillis > 0 || sysmetricMax > 0;
+    }
+
+    String describe() {
+        return String.format("job %s rows/s %s MB/s, worker %s rows/s %s MB/s, back off above %s ms round trip / %s %s",
+                limit(rowsPerSecond), limit(bytesPerSecond / MB), limit(workerRowsPerSecond), limit(workerBytesPerSecond / MB),
+                limit(latencyMaxMillis), sysmetric, limit(sysmetricMax));
+    }
+
+    private static String limit(double value) {
+        return value > 0 ? String.valueOf(value) : "-";
+    }
+
+    // 작업 스레드 하나 (테이블, 조각, 복원 테이블)마다 하나
+    Worker worker() {
+        return new Worker();
+    }
+
+    final class Worker {
+        private final Rate rows = new Rate();
+        private final Rate bytes = new Rate();
+        private long lastPass = System.nanoTime();
+
+        // 복원 읽기 스레드가 값 길이를 계산할지
+        boolean limitsBytes() {
+            return bytesPerSecond > 0 || workerBytesPerSecond > 0;
+        }
+
+        // 왕복 한 번 (rowCount 행) 또는 기록 (byteCount 바이트) 뒤 호출, 한도를 넘었으면 그만큼 대기
+        void pass(long rowCount, long byteCount) {
+            double current = factor;
+            long wait = 0;
+            if (rowCount > 0) {
+                wait = Math.max(jobRows.reserve(rowCount, rowsPerSecond * current), rows.reserve(rowCount, workerRowsPerSecond * current));
+                if (current < 1) {
+                    // 감속 중: 쉬는 시간 비율이 (1 - 계수) 가 되도록
+                    wait = Math.max(wait, (long) ((System.nanoTime() - lastPass) * (1 / current - 1)));
+                }
+            }
+            if (byteCount > 0) {
+                wait = Math.max(wait, Math.max(jobBytes.reserve(byteCount, bytesPerSecond * current),
+                        bytes.reserve(byteCount, workerBytesPerSecond * current)));
+            }
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (rowCount > 0) {
+                lastPass = System.nanoTime();
+            }
+        }
+
+        // 기록 바이트를 세는 출력 스트림 (BYTES_STEP 바이트마다 한도 확인)
+        OutputStream output(OutputStream output) {
+            return new FilterOutputStream(output) {
+                private long pending;
+
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    count(1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    count(len);
+                }
+
+                private void count(long n) {
+                    pending += n;
+                    if (pending >= BYTES_STEP) {
+                        pass(0, pending);
+                        pending = 0;
+                    }
+                }
+            };
+        }
+    }
+
+    // 복원 행의 대략적인 바이트 수 (문자열 길이, 바이너리 길이, 그 외 8)
+    static long sizeOf(Map<String, Object> row) {
+        long size = 0;
+        for (Object value : row.values()) {
+            if (value instanceof String) {
+                size += ((String) value).length();
+            } else if (value instanceof byte[]) {
+                size += ((byte[]) value).length;
+            } else if (value != null) {
+                size += 8;
+            }
+        }
+        return size;
+    }
+
+    // 다음 허용 시각 방식의 토큰 버킷 (1초 분량까지 몰아서 허용, 초과분은 뒤에 대기)
+    static final class Rate {
+        private static final long BURST_NANOS = 1_000_000_000L;
+        private long nextFree = System.nanoTime();
+
+        // amount 를 쓰고 기다려야 할 나노초 반환 (perSecond 가 0 이면 제한 없음)
+        synchronized long reserve(double amount, double perSecond) {
+            if (perSecond <= 0) {
+                return 0;
+            }
+            long now = System.nanoTime();
+            if (nextFree < now - BURST_NANOS) {
+                nextFree = now - BURST_NANOS;
+            }
+            nextFree += (long) (amount / perSecond * 1e9);
+            return Math.max(0, nextFree - now);
+        }
+    }
+
+    // 한도 파일 다시 읽기, 최근 지연/대기 지표로 계수 조절
+    private void adjust() {
+        try {
+            reloadLimits();
+
+            // 지난 확인 이후 왕복 평균 지연
+            double[] totals = metrics.latencyTotals();
+            long count = (long) totals[1] - latencyCount;
+            recentLatencyMillis = count > 0 ? (totals[0] - latencySum) / count / 1e6 : -1;
+            latencySum = totals[0];
+            latencyCount = (long) totals[1];
+
+            sysmetricValue = sysmetricMax > 0 ? readSysmetric() : -1;
+
+            boolean slow = latencyMaxMillis > 0 && recentLatencyMillis > latencyMaxMillis;
+            boolean busy = sysmetricMax > 0 && sysmetricValue > sysmetricMax;
+            double next = slow || busy ? Math.max(minFactor, factor / 2) : Math.min(1, factor + 0.1);
+            if (Math.abs(next - factor) > 1e-9) {
+                LogUtil.log(logFileName, String.format("Throttle factor %.2f -> %.2f (round trip %.1f ms%s, %s %s%s)", factor, next,
+                        recentLatencyMillis, latencyMaxMillis > 0 ? " / max " + latencyMaxMillis : "",
+                        sysmetric, sysmetricValue >= 0 ? String.format("%.1f", sysmetricValue) : "-",
+                        sysmetricMax > 0 ? " / max " + sysmetricMax : ""));
+                factor = next;
+            }
+        } catch (Exception e) {
+            // 조절 실패가 작업을 멈추지 않도록 기록만
+            LogUtil.log(logFileName, "Error adjusting throttle: " + e.getMessage());
+        }
+    }
+
+    private void reloadLimits() throws IOException {
+        if (limitsFile == null || !limitsFile.exists() || limitsFile.lastModified() == limitsModified) {
+            return;
+        }
+        limitsModified = limitsFile.lastModified();
+        Properties limits = new Properties();
+        try (InputStream input = new FileInputStream(limitsFile)) {
+            limits.load(input);
+        }
+        apply(limits);
+        LogUtil.log(logFileName, "Throttle limits loaded from " + limitsFile + ": " + describe());
+    }
+
+    // 전용 세션 하나로 조회 (작업 풀의 연결은 테이블 작업이 쥐고 있으므로), 권한이 없으면 한 번 기록하고 사용 안 함
+    private double readSysmetric() {
+        if (sysmetricFailed) {
+            return -1;
+        }
+        try {
+            if (sysmetricPool == null) {
+                sysmetricPool = new OraPool(config.getProperty("jdbc.url"), config.getProperty("jdbc.username"),
+                        config.getProperty("jdbc.password"), 1);
+            }
+            Connection conn = sysmetricPool.take();
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT MAX(value) FROM v$sysmetric WHERE metric_name = ? AND group_id = 2")) {
+                stmt.setString(1, sysmetric);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getDouble(1) : -1;
+                }
+            } finally {
+                sysmetricPool.release(conn);
+            }
+        } catch (SQLException | InterruptedException | RuntimeException e) {
+            sysmetricFailed = true;
+            LogUtil.log(logFileName, "Cannot read v$sysmetric, throttling on round trip latency only - " + e.getMessage());
+            return -1;
+        }
+    }
+
+    private ThrottleMBean mbean() {
+        return new ThrottleMBean() {
+            @Override public double getRowsPerSecond() { return rowsPerSecond; }
+            @Override public void setRowsPerSecond(double value) { rowsPerSecond = Math.max(0, value); changed(); }
+            @Override public double getMegabytesPerSecond() { return bytesPerSecond / MB; }
+            @Override public void setMegabytesPerSecond(double value) { bytesPerSecond = Math.max(0, value) * MB; changed(); }
+            @Override public double getWorkerRowsPerSecond() { return workerRowsPerSecond; }
+            @Override public void setWorkerRowsPerSecond(double value) { workerRowsPerSecond = Math.max(0, value); changed(); }
+            @Override public double getWorkerMegabytesPerSecond() { return workerBytesPerSecond / MB; }
+            @Override public void setWorkerMegabytesPerSecond(double value) { workerBytesPerSecond = Math.max(0, value) * MB; changed(); }
+            @Override public double getLatencyMaxMillis() { return latencyMaxMillis; }
+            @Override public void setLatencyMaxMillis(double value) { latencyMaxMillis = Math.max(0, value); changed(); }
+            @Override public double getSysmetricMax() { return sysmetricMax; }
+            @Override public void setSysmetricMax(double value) { sysmetricMax = Math.max(0, value); changed(); }
+            @Override public double getFactor() { return factor; }
+            @Override public double getRecentLatencyMillis() { return recentLatencyMillis; }
+            @Override public double getSysmetricValue() { return sysmetricValue; }
+        };
+    }
+
+    private void changed() {
+        LogUtil.log(logFileName, "Throttle limits changed over JMX: " + describe());
+    }
+
+    @Override
+    public void close() {
+        controller.shutdownNow();
+        try {
+            controller.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (sysmetricPool != null) {
+            sysmetricPool.close();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.agadev;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 복원 바인딩용 컬럼 타입 코덱
+// 대상 테이블의 컬럼 타입을 all_tab_columns 에서 테이블마다 한 번 읽어 컬럼마다 변환 방식을 정해 두고,
+// 파일 값(txt/csv/json 은 대부분 문자열)을 INSERT 전에 미리 Java 타입으로 바꿔 그대로 바인딩 (OraRowStream 의 decode 단계)
+//   DATE, TIMESTAMP        -> LocalDateTime
+//   NUMBER, FLOAT          -> BigDecimal (json 정수는 Integer/Long 그대로)
+//   BINARY_FLOAT/DOUBLE    -> Double
+//   RAW, LONG RAW, BLOB    -> byte[] (txt/json/csv 백업은 Base64 문자열)
+//   그 외 (문자, CLOB, TIME ZONE 이 있는 TIMESTAMP, INTERVAL 등) 는 문자열 그대로
+// 딕셔너리에서 찾지 못하면 (권한, 다른 DB) SELECT * 메타데이터의 JDBC 타입으로 정함
+public class OraTypeCodec {
+
+    enum Codec {
+        STRING {
+            @Override
+            Object decode(Object value) {
+                return value;
+            }
+
+            @Override
+            void bind(PreparedStatement stmt, int index, Object value) throws SQLException {
+                if (value instanceof String) {
+                    stmt.setString(index, (String) value);
+                } else {
+                    stmt.setObject(index, value);
+                }
+            }
+        },
+        NUMBER {
+            @Override
+            Object decode(Object value) {
+                if (value instanceof String) {
+                    String text = ((String) value).trim();
+                    // 오라클은 빈 문자열을 NULL 로 변환
+                    return text.isEmpty() ? null : new BigDecimal(text);
+                }
+                return value;
+            }
+
+            @Override
+            void bind(PreparedStatement stmt, int index, Object value) throws SQLException {
+                if (value instanceof BigDecimal) {
+                    stmt.setBigDecimal(index, (BigDecimal) value);
+                } else {
+                    stmt.setObject(index, value);
+                }
+            }
+        },
+        DOUBLE {
+            @Override
+            Object decode(Object value) {
+                if (value instanceof String) {
+                    String text = ((String) value).trim();
+                    return text.isEmpty() ? null : Double.valueOf(text);
+                }
+                return value;
+            }
+
+            @Override
+            void bind(PreparedStatement stmt, int index, Object value) throws SQLException {
+                if (value instanceof Double) {
+                    stmt.setDouble(index, (Double) value);
+                } else {
+                    stmt.setObject(index, value);
+                }
+            }
+        },
+        TIMESTAMP {
+            @Override
+            Object decode(Object value) {
+                if (value instanceof String) {
+                    String text = ((String) value).trim();
+                    return text.isEmpty() ? null : parseDateTime(text);
+                }
+                if (value instanceof Timestamp) {
+                    return ((Timestamp) value).toLocalDateTime();
+                }
+                if (value instanceof java.util.Date) {
+                    return new Timestamp(((java.util.Date) value).getTime()).toLocalDateTime();
+                }
+                return value;
+            }
+
+            @Override
+            void bind(PreparedStatement stmt, int index, Object value) throws SQLException {
+                // LocalDateTime 은 기본 시간대를 거치지 않으므로 서머타임 경계의 시각도 그대로 들어감
+                stmt.setObject(index, value);
+            }
+        },
+        BINARY {
+            @Override
+            Object decode(Object value) {
+                if (value instanceof String) {
+                    return Base64.getDecoder().decode(((String) value).trim());
+                }
+                return value;
+            }
+
+            @Override
+            void bind(PreparedStatement stmt, int index, Object value) throws SQLException {
+                if (value instanceof byte[]) {
+                    stmt.setBytes(index, (byte[]) value);
+                } else {
+                    stmt.setObject(index, value);
+                }
+            }
+        };
+
+        // 파일 값을 바인딩할 Java 타입으로 (이미 변환된 값은 그대로)
+        abstract Object decode(Object value);
+
+        // decode 한 값 바인딩 (NULL 제외)
+        abstract void bind(PreparedStatement stmt, int index, Object value) throws SQLException;
+
+        // 값 하나를 변환해 바인딩 (NULL 은 컬럼의 JDBC 타입으로)
+        void bind(PreparedStatement stmt, int index, Object value, int sqlType) throws SQLException {
+            Object decoded = value == null ? null : decode(value);
+            if (decoded == null) {
+                stmt.setNull(index, sqlType);
+            } else {
+                bind(stmt, index, decoded);
+            }
+        }
+    }
+
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000};
+
+    // 대상 테이블 컬럼 (all_tab_columns, 컬럼 순서대로), 찾지 못하면 SELECT * 메타데이터
+    static OraBatchInsert.TableColumns describe(Connection conn, String tableName) throws SQLException {
+        List<String> names = new ArrayList<>();
+        List<String> dataTypes = new ArrayList<>();
+        String query = "SELECT column_name, data_type FROM all_tab_columns"
+                + " WHERE owner = NVL(?, SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')) AND table_name = ? ORDER BY column_id";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, OraCatalog.ownerOf(tableName));
+            stmt.setString(2, OraCatalog.bareName(tableName));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                    dataTypes.add(rs.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            names.clear();
+        }
+        if (names.isEmpty()) {
+            return OraBatchInsert.describeResult(conn, tableName);
+        }
+
+        int[] types = new int[names.size()];
+        Codec[] codecs = new Codec[names.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = sqlTypeOf(dataTypes.get(i));
+            codecs[i] = of(types[i]);
+        }
+        return new OraBatchInsert.TableColumns(names, types, codecs);
+    }
+
+    // all_tab_columns.data_type -> JDBC 타입 (TIMESTAMP(6) 처럼 정밀도가 붙어 나옴)
+    static int sqlTypeOf(String dataType) {
+        switch (dataType) {
+            case "NUMBER":
+            case "FLOAT":
+                return Types.NUMERIC;
+            case "BINARY_FLOAT":
+            case "BINARY_DOUBLE":
+                return Types.DOUBLE;
+            case "DATE":
+                return Types.TIMESTAMP;
+            case "RAW":
+                return Types.VARBINARY;
+            case "LONG RAW":
+                return Types.LONGVARBINARY;
+            case "BLOB":
+                return Types.BLOB;
+            case "CLOB":
+                return Types.CLOB;
+            case "NCLOB":
+                return Types.NCLOB;
+            default:
+                if (dataType.startsWith("TIMESTAMP") && !dataType.endsWith("TIME ZONE")) {
+                    return Types.TIMESTAMP;
+                }
+                return Types.VARCHAR;
+        }
+    }
+
+    static Codec of(int sqlType) {
+        switch (sqlType) {
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return Codec.NUMBER;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return Codec.DOUBLE;
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                return Codec.TIMESTAMP;
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return Codec.BINARY;
+            default:
+                return Codec.STRING;
+        }
+    }
+
+    // 행을 테이블 컬럼 타입으로 변환 (파일에 없는 컬럼은 넣지 않음), OraRowStream 의 decode 단계
+    static OraRowStream.Decoder decoder(OraBatchInsert.TableColumns columns) {
+        int capacity = columns.names.size() * 4 / 3 + 1;
+        return (row, fileName) -> {
+            // mmap txt 행은 읽기 전용 뷰이므로 새 맵에 담음
+            Map<String, Object> decoded = new HashMap<>(capacity);
+            for (int i = 0; i < columns.codecs.length; i++) {
+                String name = columns.names.get(i);
+                Object value = row.get(name);
+                if (value != null) {
+                    decoded.put(name, decode(columns.codecs[i], value, name, fileName));
+                } else if (row.containsKey(name)) {
+                    decoded.put(name, null);
+                }
+            }
+            return decoded;
+        };
+    }
+
+    // 읽는 스레드에서 바로 변환해 넘기는 행 소스
+    static OraRowSource.Opener decoding(OraRowSource.Opener opener, OraBatchInsert.TableColumns columns) {
+        OraRowStream.Decoder decoder = decoder(columns);
+        return file -> {
+            OraRowSource source = opener.open(file);
+            return new OraRowSource() {
+                @Override
+                public Map<String, Object> next() throws IOException {
+                    Map<String, Object> row = source.next();
+                    return row == null ? null : decoder.decode(row, file.getName());
+                }
+
+                @Override
+                public void close() throws IOException {
+                    source.close();
+                }
+            };
+        };
+    }
+
+    private static Object decode(Codec codec, Object value, String name, String fileName) throws IOException {
+        try {
+            return codec.decode(value);
+        } catch (RuntimeException e) {
+            throw new IOException("Cannot convert " + name + " value '" + value + "' in " + fileName + " - " + e.getMessage(), e);
+        }
+    }
+
+    // "yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss[.f]" (T 구분도 허용) 는 위치로 바로 읽고, 그 외는 Timestamp.valueOf
+    static LocalDateTime parseDateTime(String text) {
+        int length = text.length();
+        if ((length == 10 || length >= 19 && length <= 29 && length != 20) && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            if (length == 10 && (year | month | day) >= 0) {
+                return LocalDateTime.of(year, month, day, 0, 0);
+            }
+            char separator = length > 10 ? text.charAt(10) : 0;
+            if ((separator == ' ' || separator == 'T') && text.charAt(13) == ':' && text.charAt(16) == ':'
+                    && (length == 19 || text.charAt(19) == '.')) {
+                int hour = digits(text, 11, 13);
+                int minute = digits(text, 14, 16);
+                int second = digits(text, 17, 19);
+                int fraction = length == 19 ? 0 : digits(text, 20, length);
+                if ((year | month | day | hour | minute | second | fraction) >= 0) {
+                    int nanos = length == 19 ? 0 : fraction * POWERS_OF_TEN[29 - length];
+                    return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+                }
+            }
+        }
+        return OraBatchInsert.parseTimestamp(text).toLocalDateTime();
+    }
+
+    // 숫자가 아니면 -1
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}